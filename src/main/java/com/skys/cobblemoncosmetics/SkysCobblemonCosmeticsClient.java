@@ -1,8 +1,10 @@
 package com.skys.cobblemoncosmetics;
 
 import com.skys.cobblemoncosmetics.hunt.HuntItemProperties;
+import com.skys.cobblemoncosmetics.hunt.OrbClientHooks;
 import com.skys.cobblemoncosmetics.items.ModItems;
 import com.skys.cobblemoncosmetics.render.IronMaidenMegaBraceletRenderer;
+import com.skys.cobblemoncosmetics.render.OrbProximityClient;
 import io.wispforest.accessories.api.client.AccessoriesRendererRegistry;
 
 /**
@@ -19,6 +21,9 @@ public class SkysCobblemonCosmeticsClient {
         // Register hunt item properties for model overrides (orb states, tablet glow)
         HuntItemProperties.register();
 
+        // Orb tooltip origin proximity, read through a hook so common code never loads client classes
+        OrbClientHooks.setOriginProximity(OrbProximityClient::currentProximity);
+
         SkysCobblemonCosmetics.LOGGER.info("Client initialization complete");
     }
 }
@@ -1,12 +1,26 @@
 package com.skys.cobblemoncosmetics.commands;
 
+import com.mojang.authlib.GameProfile;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
+import com.skys.cobblemoncosmetics.hunt.ActionBarChannel;
+import com.skys.cobblemoncosmetics.hunt.BattleEventQueue;
+import com.skys.cobblemoncosmetics.hunt.BattleHunterCache;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleHandler;
 import com.skys.cobblemoncosmetics.hunt.CrystalAscendancyManager;
+import com.skys.cobblemoncosmetics.hunt.FaintLoadGenerator;
 import com.skys.cobblemoncosmetics.hunt.HuntDataComponents;
 import com.skys.cobblemoncosmetics.hunt.MysteriousOrbItem;
+import com.skys.cobblemoncosmetics.hunt.OrbData;
+import com.skys.cobblemoncosmetics.hunt.OrbHolderRegistry;
+import com.skys.cobblemoncosmetics.hunt.OrbSlotCache;
+import com.skys.cobblemoncosmetics.hunt.OrbWriteBuffer;
+import com.skys.cobblemoncosmetics.hunt.RaceLeaderboard;
+import com.skys.cobblemoncosmetics.hunt.RaceSaveWriter;
+import com.skys.cobblemoncosmetics.hunt.RaceShardStore;
 import com.skys.cobblemoncosmetics.hunt.RunicCipherTabletItem;
+import com.skys.cobblemoncosmetics.hunt.StageTimeline;
 import com.skys.cobblemoncosmetics.hunt.HuntConfig;
 import com.skys.cobblemoncosmetics.items.ModItems;
 import net.minecraft.ChatFormatting;
@@ -15,8 +29,14 @@ import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.GameProfileCache;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 /**
  * Commands for managing the Crystal Ascendancy Hunt stages.
  *
@@ -24,6 +44,12 @@ import net.minecraft.world.item.ItemStack;
  * /hunt stage <player> <stage>  - Set player to a specific hunt stage
  * /hunt progress <player>       - View player's current hunt progress
  * /hunt reset <player>          - Reset player's hunt progress
+ * /hunt leaderboard [count]     - Show the top hunters (default 10)
+ * /hunt rank <player>           - Show a player's leaderboard position
+ * /hunt funnel                  - Show drop-off and median time per stage
+ * /hunt perf                    - Show hunt performance counters
+ * /hunt loadtest <players> <rate> <seconds> - Inject synthetic opponent faints (OP level 4)
+ * /hunt loadtest stop           - Stop a running load test early
  *
  * Stages:
  * 1 - Not started
@@ -35,6 +61,9 @@ import net.minecraft.world.item.ItemStack;
  */
 public class HuntCommands {
 
+    private static final int DEFAULT_LEADERBOARD_SIZE = 10;
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("hunt")
             .requires(source -> source.hasPermission(2)) // OP level 2 required
@@ -57,7 +86,34 @@ public class HuntCommands {
                     .executes(context -> {
                         ServerPlayer player = EntityArgument.getPlayer(context, "player");
                         return resetProgress(context.getSource(), player);
-                    }))));
+                    })))
+            .then(Commands.literal("leaderboard")
+                .executes(context -> showLeaderboard(context.getSource(), DEFAULT_LEADERBOARD_SIZE))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, MAX_LEADERBOARD_SIZE))
+                    .executes(context -> showLeaderboard(context.getSource(), IntegerArgumentType.getInteger(context, "count")))))
+            .then(Commands.literal("rank")
+                .then(Commands.argument("player", EntityArgument.player())
+                    .executes(context -> {
+                        ServerPlayer player = EntityArgument.getPlayer(context, "player");
+                        return showRank(context.getSource(), player);
+                    })))
+            .then(Commands.literal("funnel")
+                .executes(context -> showFunnel(context.getSource())))
+            .then(Commands.literal("perf")
+                .executes(context -> showPerfStats(context.getSource())))
+            .then(Commands.literal("loadtest")
+                .requires(source -> source.hasPermission(4)) // Can lag the server, full OP only
+                .then(Commands.literal("stop")
+                    .executes(context -> stopLoadTest(context.getSource())))
+                .then(Commands.argument("players", EntityArgument.players())
+                    .then(Commands.argument("rate", IntegerArgumentType.integer(1, 1_000_000))
+                        .then(Commands.argument("seconds", IntegerArgumentType.integer(1, 300))
+                            .executes(context -> {
+                                Collection<ServerPlayer> players = EntityArgument.getPlayers(context, "players");
+                                int rate = IntegerArgumentType.getInteger(context, "rate");
+                                int seconds = IntegerArgumentType.getInteger(context, "seconds");
+                                return startLoadTest(context.getSource(), players, rate, seconds);
+                            }))))));
 
         SkysCobblemonCosmetics.LOGGER.info("Registered hunt commands");
     }
@@ -73,25 +129,19 @@ public class HuntCommands {
             case 2 -> {
                 // Stage 2: Empty orb
                 ItemStack orb = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
-                MysteriousOrbItem.setOrbState(orb, HuntDataComponents.OrbState.EMPTY);
-                MysteriousOrbItem.setKillCount(orb, 0);
-                MysteriousOrbItem.setRevealedRunes(orb, 0);
+                MysteriousOrbItem.setOrbData(orb, OrbData.EMPTY);
                 player.getInventory().add(orb);
             }
             case 3 -> {
                 // Stage 3: Filled orb (all runes revealed)
                 ItemStack orb = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
-                MysteriousOrbItem.setOrbState(orb, HuntDataComponents.OrbState.FINAL);
-                MysteriousOrbItem.setKillCount(orb, 0);
-                MysteriousOrbItem.setRevealedRunes(orb, HuntConfig.TOTAL_RUNES);
+                MysteriousOrbItem.setOrbData(orb, filledOrbData());
                 player.getInventory().add(orb);
             }
             case 4 -> {
                 // Stage 4: Filled orb + faded tablet
                 ItemStack orb = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
-                MysteriousOrbItem.setOrbState(orb, HuntDataComponents.OrbState.FINAL);
-                MysteriousOrbItem.setKillCount(orb, 0);
-                MysteriousOrbItem.setRevealedRunes(orb, HuntConfig.TOTAL_RUNES);
+                MysteriousOrbItem.setOrbData(orb, filledOrbData());
                 player.getInventory().add(orb);
 
                 ItemStack tablet = new ItemStack(ModItems.RUNIC_CIPHER_TABLET.get());
@@ -101,9 +151,7 @@ public class HuntCommands {
             case 5 -> {
                 // Stage 5: Filled orb + glowing tablet + parchment
                 ItemStack orb = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
-                MysteriousOrbItem.setOrbState(orb, HuntDataComponents.OrbState.FINAL);
-                MysteriousOrbItem.setKillCount(orb, 0);
-                MysteriousOrbItem.setRevealedRunes(orb, HuntConfig.TOTAL_RUNES);
+                MysteriousOrbItem.setOrbData(orb, filledOrbData());
                 player.getInventory().add(orb);
 
                 ItemStack tablet = new ItemStack(ModItems.RUNIC_CIPHER_TABLET.get());
@@ -116,13 +164,8 @@ public class HuntCommands {
             case 6 -> {
                 // Stage 6: Same as 5, but with X and Z coordinates solved (green)
                 ItemStack orb = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
-                MysteriousOrbItem.setOrbState(orb, HuntDataComponents.OrbState.FINAL);
-                MysteriousOrbItem.setKillCount(orb, 0);
-                MysteriousOrbItem.setRevealedRunes(orb, HuntConfig.TOTAL_RUNES);
-                // Reveal all X digits (bits 0-3 = 0b1111 = 15)
-                MysteriousOrbItem.setXDigits(orb, 0b1111);
-                // Reveal all Z digits (bits 0-3 = 0b1111 = 15)
-                MysteriousOrbItem.setZDigits(orb, 0b1111);
+                // Reveal all X and Z digits (bits 0-3 = 0b1111 = 15)
+                MysteriousOrbItem.setOrbData(orb, filledOrbData().withXDigits(0b1111).withZDigits(0b1111));
                 player.getInventory().add(orb);
 
                 ItemStack tablet = new ItemStack(ModItems.RUNIC_CIPHER_TABLET.get());
@@ -153,16 +196,7 @@ public class HuntCommands {
     private static int showProgress(CommandSourceStack source, ServerPlayer player) {
         CrystalAscendancyManager manager = CrystalAscendancyManager.get(source.getServer());
         int stage = manager.getPlayerStage(player.getUUID());
-
-        String stageName = switch (stage) {
-            case 1 -> "Not Started";
-            case 2 -> "Has Empty Orb";
-            case 3 -> "Orb Filled (Runes Revealed)";
-            case 4 -> "Has Tablet (Faded)";
-            case 5 -> "Complete (Has Parchment)";
-            case 6 -> "Complete (X & Z Solved)";
-            default -> "Unknown";
-        };
+        String stageName = getStageName(stage);
 
         source.sendSuccess(() -> Component.literal("")
             .append(Component.literal("Hunt Progress for ").withStyle(ChatFormatting.GOLD))
@@ -232,6 +266,204 @@ public class HuntCommands {
         return 1;
     }
 
+    private static String getStageName(int stage) {
+        return switch (stage) {
+            case 1 -> "Not Started";
+            case 2 -> "Has Empty Orb";
+            case 3 -> "Orb Filled (Runes Revealed)";
+            case 4 -> "Has Tablet (Faded)";
+            case 5 -> "Complete (Has Parchment)";
+            case 6 -> "Complete (X & Z Solved)";
+            default -> "Unknown";
+        };
+    }
+
+    private static int showLeaderboard(CommandSourceStack source, int count) {
+        RaceLeaderboard leaderboard = CrystalAscendancyManager.get(source.getServer()).getLeaderboard();
+        List<RaceLeaderboard.Standing> top = leaderboard.getTop(count);
+
+        source.sendSuccess(() -> Component.literal("Hunt Leaderboard (" + leaderboard.size() + " hunters):")
+            .withStyle(ChatFormatting.GOLD), false);
+
+        if (top.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("  No hunters yet.").withStyle(ChatFormatting.GRAY), false);
+            return 0;
+        }
+
+        for (int i = 0; i < top.size(); i++) {
+            RaceLeaderboard.Standing standing = top.get(i);
+            String line = String.format("  %d. %s - %s", i + 1, getPlayerName(source, standing.playerId()), getStageName(standing.stage()));
+            source.sendSuccess(() -> Component.literal(line).withStyle(ChatFormatting.YELLOW), false);
+        }
+
+        // Players per stage, highest first
+        StringBuilder perStage = new StringBuilder("  Per stage:");
+        for (int stage = RaceLeaderboard.MAX_STAGE; stage >= 1; stage--) {
+            perStage.append(' ').append(stage).append('=').append(leaderboard.getStageCount(stage));
+        }
+        source.sendSuccess(() -> Component.literal(perStage.toString()).withStyle(ChatFormatting.GRAY), false);
+
+        return top.size();
+    }
+
+    private static int showRank(CommandSourceStack source, ServerPlayer player) {
+        RaceLeaderboard leaderboard = CrystalAscendancyManager.get(source.getServer()).getLeaderboard();
+        int rank = leaderboard.getRank(player.getUUID());
+
+        if (rank < 0) {
+            source.sendFailure(Component.literal(player.getName().getString() + " is not on the hunt leaderboard."));
+            return 0;
+        }
+
+        RaceLeaderboard.Standing standing = leaderboard.getStanding(player.getUUID());
+        source.sendSuccess(() -> Component.literal("")
+            .append(player.getDisplayName())
+            .append(Component.literal(" is #" + rank + " of " + leaderboard.size()
+                + " (" + getStageName(standing.stage()) + ")").withStyle(ChatFormatting.YELLOW)), false);
+
+        return rank;
+    }
+
+    private static int showFunnel(CommandSourceStack source) {
+        CrystalAscendancyManager manager = CrystalAscendancyManager.get(source.getServer());
+        RaceLeaderboard leaderboard = manager.getLeaderboard();
+        StageTimeline timeline = manager.getTimeline();
+        long[] medians = timeline.getMedianStepMillis(RaceLeaderboard.MAX_STAGE);
+
+        source.sendSuccess(() -> Component.literal("Hunt Funnel (" + leaderboard.size() + " hunters, median times from the last "
+            + timeline.size() + " transitions):").withStyle(ChatFormatting.GOLD), false);
+
+        // Players who reached at least each stage, from the highest down
+        int[] reached = new int[RaceLeaderboard.MAX_STAGE + 2];
+        for (int stage = RaceLeaderboard.MAX_STAGE; stage >= 1; stage--) {
+            reached[stage] = reached[stage + 1] + leaderboard.getStageCount(stage);
+        }
+
+        for (int stage = 1; stage <= RaceLeaderboard.MAX_STAGE; stage++) {
+            StringBuilder line = new StringBuilder(String.format("  %d. %s: %d", stage, getStageName(stage), reached[stage]));
+            if (stage > 1 && reached[stage - 1] > 0) {
+                line.append(String.format(" (%.0f%% of previous)", 100.0 * reached[stage] / reached[stage - 1]));
+            }
+            if (stage > 1 && medians[stage - 1] >= 0) {
+                line.append(", median ").append(CrystalAscendancyManager.formatCooldownTime(medians[stage - 1]));
+            }
+            String text = line.toString();
+            source.sendSuccess(() -> Component.literal(text).withStyle(ChatFormatting.YELLOW), false);
+        }
+
+        if (timeline.getLost() > 0) {
+            source.sendSuccess(() -> Component.literal("  " + timeline.getLost() + " transitions were overwritten before reaching disk")
+                .withStyle(ChatFormatting.RED), false);
+        }
+
+        return 1;
+    }
+
+    /**
+     * Name for a leaderboard row: online players first, then the profile cache, then a short UUID.
+     */
+    private static String getPlayerName(CommandSourceStack source, UUID playerId) {
+        ServerPlayer online = source.getServer().getPlayerList().getPlayer(playerId);
+        if (online != null) {
+            return online.getName().getString();
+        }
+        GameProfileCache profiles = source.getServer().getProfileCache();
+        if (profiles != null) {
+            Optional<GameProfile> profile = profiles.get(playerId);
+            if (profile.isPresent()) {
+                return profile.get().getName();
+            }
+        }
+        return playerId.toString().substring(0, 8);
+    }
+
+    private static int showPerfStats(CommandSourceStack source) {
+        source.sendSuccess(() -> Component.literal("Hunt Performance:").withStyle(ChatFormatting.GOLD), false);
+
+        source.sendSuccess(() -> Component.literal("  Orb holders: ")
+            .append(Component.literal(String.valueOf(OrbHolderRegistry.getHolderCount())).withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Puzzle evaluations: ")
+            .append(Component.literal(CoordinatePuzzleHandler.getScheduler().getTotalEvaluations()
+                + " (" + CoordinatePuzzleHandler.getScheduler().getTotalDeferrals() + " deferred)")
+                .withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Action bar packets: ")
+            .append(Component.literal(ActionBarChannel.getPacketsSent() + " sent, "
+                + ActionBarChannel.getPacketsSkipped() + " skipped").withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Orb writes: ")
+            .append(Component.literal(OrbWriteBuffer.getWritesApplied() + " applied, "
+                + OrbWriteBuffer.getWritesAvoided() + " syncs avoided").withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Orb slot lookups: ")
+            .append(Component.literal(OrbSlotCache.getHits() + " cached, "
+                + OrbSlotCache.getMisses() + " scans").withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Battle events: ")
+            .append(Component.literal(BattleEventQueue.getDrained() + " handled ("
+                + BattleEventQueue.getSubmittedOffThread() + " off-thread), "
+                + BattleEventQueue.getQueuedCount() + " queued, "
+                + BattleEventQueue.getDropped() + " dropped").withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Battle event latency: ")
+            .append(Component.literal(String.format("%.2f ms avg, %.2f ms max",
+                BattleEventQueue.getAverageLatencyMillis(), BattleEventQueue.getMaxLatencyMillis()))
+                .withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Tracked battles: ")
+            .append(Component.literal(String.valueOf(BattleHunterCache.getTrackedBattleCount())).withStyle(ChatFormatting.YELLOW)), false);
+
+        CrystalAscendancyManager manager = CrystalAscendancyManager.get(source.getServer());
+        source.sendSuccess(() -> Component.literal("  Race cooldowns: ")
+            .append(Component.literal(String.valueOf(manager.getCooldownCount())).withStyle(ChatFormatting.YELLOW)), false);
+
+        RaceShardStore shards = manager.getShardStore();
+        source.sendSuccess(() -> Component.literal("  Race save: ")
+            .append(Component.literal(String.format("%d/%d buckets written last save (%.2f ms)",
+                shards.getLastFlushBuckets(), RaceShardStore.BUCKETS, shards.getLastFlushMillis()))
+                .withStyle(ChatFormatting.YELLOW)), false);
+
+        source.sendSuccess(() -> Component.literal("  Race save writes: ")
+            .append(Component.literal(RaceSaveWriter.getAsyncBatches() + " background, "
+                + RaceSaveWriter.getInlineBatches() + " inline, "
+                + RaceSaveWriter.getWaitedBatches() + " waited, "
+                + RaceSaveWriter.getInFlight() + " pending, "
+                + RaceSaveWriter.getFailedWrites() + " failed, "
+                + RaceSaveWriter.getCompactions() + " log compactions").withStyle(ChatFormatting.YELLOW)), false);
+
+        return 1;
+    }
+
+    private static int startLoadTest(CommandSourceStack source, Collection<ServerPlayer> players, int rate, int seconds) {
+        List<UUID> targets = players.stream().map(ServerPlayer::getUUID).toList();
+        if (!FaintLoadGenerator.start(source, targets, rate, seconds)) {
+            source.sendFailure(Component.literal("A load test is already running. Use /hunt loadtest stop first."));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal("Injecting " + rate + " faints/s across " + targets.size()
+            + " player(s) for " + seconds + "s. Progress goes to scratch orbs, their own orbs are untouched.").withStyle(ChatFormatting.GOLD), true);
+        return 1;
+    }
+
+    private static int stopLoadTest(CommandSourceStack source) {
+        if (!FaintLoadGenerator.stop()) {
+            source.sendFailure(Component.literal("No load test is running."));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal("Stopping load test...").withStyle(ChatFormatting.YELLOW), false);
+        return 1;
+    }
+
+    /**
+     * Orb data for a fully filled orb (all runes revealed)
+     */
+    private static OrbData filledOrbData() {
+        return OrbData.EMPTY.withProgress(HuntDataComponents.OrbState.FINAL, 0, HuntConfig.TOTAL_RUNES);
+    }
+
     /**
      * Removes all hunt-related items from player's inventory
      */
@@ -0,0 +1,66 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSetActionBarTextPacket;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Per-player action bar sender that only sends a packet when the message changes,
+ * or shortly before the client would start fading out the current one.
+ *
+ * Messages are compared by identity, so callers should pass prebuilt constant components.
+ */
+public class ActionBarChannel {
+
+    // Packets sent vs. skipped across all players (for /hunt perf)
+    private static long packetsSent = 0;
+    private static long packetsSkipped = 0;
+
+    private Object lastMessage = null;
+    private long resendTick = 0;
+
+    /**
+     * Shows a message on the player's action bar, skipping the packet if it is already on screen.
+     *
+     * @param now current HuntClock tick
+     * @return true if a packet was sent
+     */
+    public boolean show(ServerPlayer player, Component message, long now) {
+        if (!claim(message, now)) {
+            return false;
+        }
+        player.connection.send(new ClientboundSetActionBarTextPacket(message));
+        return true;
+    }
+
+    /**
+     * Decides whether a message needs sending and records it as sent if so.
+     * Split out from {@link #show} so simulations can run the same logic without a connection.
+     */
+    public boolean claim(Object message, long now) {
+        if (message == lastMessage && now < resendTick) {
+            packetsSkipped++;
+            return false;
+        }
+        lastMessage = message;
+        resendTick = now + HuntConfig.ACTION_BAR_REFRESH_TICKS;
+        packetsSent++;
+        return true;
+    }
+
+    /**
+     * Forgets the last message, so the next call to show always sends.
+     * The client lets the current text fade out on its own.
+     */
+    public void clear() {
+        lastMessage = null;
+    }
+
+    public static long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public static long getPacketsSkipped() {
+        return packetsSkipped;
+    }
+}
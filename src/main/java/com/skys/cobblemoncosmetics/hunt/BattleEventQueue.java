@@ -0,0 +1,153 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
+import com.cobblemon.mod.common.api.battles.model.actor.BattleActor;
+import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free handoff of Cobblemon battle events to the server thread.
+ * Any thread (the server thread, Showdown or a battle worker) may submit; only the server thread drains.
+ * Events are handled in submission order, so a battle's start, faints and end never overtake each other.
+ */
+public class BattleEventQueue {
+
+    public enum Kind {
+        STARTED,
+        FAINTED,
+        ENDED,
+        SYNTHETIC_FAINT
+    }
+
+    /**
+     * A queued battle event. faintedActor is only set for FAINTED, battleId only for SYNTHETIC_FAINT
+     * (the id a load-test battle was registered under in {@link BattleHunterCache}).
+     */
+    public record BattleEvent(Kind kind, PokemonBattle battle, BattleActor faintedActor, UUID battleId, long enqueueNanos) {
+    }
+
+    private static final ConcurrentLinkedQueue<BattleEvent> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger size = new AtomicInteger();
+
+    // Producer side counters (any thread)
+    private static final AtomicLong submitted = new AtomicLong();
+    private static final AtomicLong submittedOffThread = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    // Consumer side counters (server thread only)
+    private static long drained = 0;
+    private static long deferredTicks = 0;
+    private static long totalLatencyNanos = 0;
+    private static long maxLatencyNanos = 0;
+
+    /**
+     * Queues an event from any thread.
+     *
+     * @return false if the queue was full and the event was dropped
+     */
+    public static boolean submit(Kind kind, PokemonBattle battle, BattleActor faintedActor) {
+        return offer(kind, battle, faintedActor, null);
+    }
+
+    /**
+     * Queues an opponent faint in a synthetic load-test battle, looked up by id like a real battle.
+     */
+    public static boolean submitSynthetic(UUID battleId) {
+        return offer(Kind.SYNTHETIC_FAINT, null, null, battleId);
+    }
+
+    private static boolean offer(Kind kind, PokemonBattle battle, BattleActor faintedActor, UUID battleId) {
+        if (size.incrementAndGet() > HuntConfig.BATTLE_EVENT_QUEUE_CAPACITY) {
+            size.decrementAndGet();
+            if (dropped.getAndIncrement() == 0) {
+                SkysCobblemonCosmetics.LOGGER.warn("Battle event queue is full ({} events), dropping new events",
+                    HuntConfig.BATTLE_EVENT_QUEUE_CAPACITY);
+            }
+            return false;
+        }
+        submitted.incrementAndGet();
+        if (!HuntThreads.isServerThread()) {
+            submittedOffThread.incrementAndGet();
+        }
+        queue.offer(new BattleEvent(kind, battle, faintedActor, battleId, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Handles up to the given number of queued events on the server thread. Anything left waits for the next call.
+     *
+     * @return the number of events handled
+     */
+    public static int drain(int budget, Consumer<BattleEvent> handler) {
+        HuntThreads.assertServerThread("BattleEventQueue.drain");
+
+        int handled = 0;
+        long now = System.nanoTime();
+        BattleEvent event;
+        while (handled < budget && (event = queue.poll()) != null) {
+            size.decrementAndGet();
+            handled++;
+
+            long latency = now - event.enqueueNanos();
+            totalLatencyNanos += latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+
+            handler.accept(event);
+        }
+        drained += handled;
+        if (handled == budget && !queue.isEmpty()) {
+            deferredTicks++;
+        }
+        return handled;
+    }
+
+    /**
+     * Drops everything still queued (server shutdown).
+     */
+    public static void clear() {
+        queue.clear();
+        size.set(0);
+    }
+
+    public static int getQueuedCount() {
+        return size.get();
+    }
+
+    public static long getSubmitted() {
+        return submitted.get();
+    }
+
+    public static long getSubmittedOffThread() {
+        return submittedOffThread.get();
+    }
+
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    public static long getDrained() {
+        return drained;
+    }
+
+    /**
+     * Number of drains that hit the per-tick budget and left events for a later tick.
+     */
+    public static long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    public static double getAverageLatencyMillis() {
+        return drained == 0 ? 0.0 : totalLatencyNanos / (double) drained / 1_000_000.0;
+    }
+
+    public static double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+}
@@ -1,113 +1,190 @@
 package com.skys.cobblemoncosmetics.hunt;
 
 import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.battles.model.actor.BattleActor;
 import com.cobblemon.mod.common.api.events.CobblemonEvents;
-import com.cobblemon.mod.common.api.events.battles.BattleFaintedEvent;
-import com.cobblemon.mod.common.battles.actor.PlayerBattleActor;
-import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
 import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
-import com.skys.cobblemoncosmetics.items.ModItems;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import kotlin.Unit;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Handles battle faint events for the Crystal Ascendancy hunt.
  * When an opponent's Pokemon faints while the player has the Mysterious Orb, increment its kill count.
+ *
+ * Battle events are handed to the server thread through {@link BattleEventQueue}. Faints are then counted
+ * per player and applied once per server tick, so multi-knockout turns and double battles cause a single
+ * orb update, message and sound.
  */
+@EventBusSubscriber
 public class BattleFaintHandler {
 
+    // Reused for every faint application (battle events and ticks are handled on the server thread)
+    private static final OrbProgress progress = new OrbProgress();
+
+    // Opponent faints seen this tick, per player (server thread only)
+    private static final Object2IntOpenHashMap<UUID> pendingFaints = new Object2IntOpenHashMap<>();
+
+    // Load-test faints seen this tick, per player. Applied to a scratch orb instead of the player's own
+    private static final Object2IntOpenHashMap<UUID> pendingSyntheticFaints = new Object2IntOpenHashMap<>();
+
     public static void register() {
+        BattleHunterCache.register();
         CobblemonEvents.BATTLE_FAINTED.subscribe(Priority.NORMAL, event -> {
-            handleBattleFainted(event);
+            // May fire off the server thread: only hand the event over, never touch players or items here
+            BattleEventQueue.submit(BattleEventQueue.Kind.FAINTED, event.getBattle(), event.getKilled().getActor());
             return Unit.INSTANCE;
         });
         SkysCobblemonCosmetics.LOGGER.info("Registered battle faint handler for Crystal Ascendancy hunt");
     }
 
-    private static void handleBattleFainted(BattleFaintedEvent event) {
-        BattlePokemon faintedPokemon = event.getKilled();
-
-        // Get the battle and check all actors
-        event.getBattle().getActors().forEach(battleActor -> {
-            // Check if this actor is a player
-            if (battleActor instanceof PlayerBattleActor playerActor) {
-                ServerPlayer player = playerActor.getEntity();
-                if (player != null) {
-                    // Check if the fainted Pokemon belongs to the opponent (not this player)
-                    // The fainted Pokemon's actor should NOT be the player we're checking
-                    if (faintedPokemon.getActor() != battleActor) {
-                        processOpponentFaint(player);
-                    }
-                }
+    private static void handleBattleEvent(BattleEventQueue.BattleEvent event) {
+        switch (event.kind()) {
+            case STARTED -> BattleHunterCache.track(event.battle());
+            case ENDED -> BattleHunterCache.untrack(event.battle());
+            case FAINTED -> handleBattleFainted(BattleHunterCache.getHunters(event.battle()), event.faintedActor(),
+                pendingFaints);
+            case SYNTHETIC_FAINT -> handleBattleFainted(BattleHunterCache.getHunters(event.battleId()), null,
+                pendingSyntheticFaints);
+        }
+    }
+
+    private static void handleBattleFainted(List<UUID> hunters, BattleActor faintedActor,
+                                            Object2IntOpenHashMap<UUID> pending) {
+        // Only players who entered the battle with an unfilled orb can gain progress
+        if (hunters.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < hunters.size(); i++) {
+            UUID hunterId = hunters.get(i);
+            // Check if the fainted Pokemon belongs to the opponent (not this player)
+            if (faintedActor == null || !hunterId.equals(faintedActor.getUuid())) {
+                pending.addTo(hunterId, 1);
             }
-        });
+        }
     }
 
-    private static void processOpponentFaint(ServerPlayer player) {
-        // Check player's inventory for Mysterious Orb
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            ItemStack stack = player.getInventory().getItem(i);
+    /**
+     * Receives each player's aggregated faints for a tick.
+     */
+    @FunctionalInterface
+    public interface FaintConsumer {
+        /**
+         * @param synthetic true for load-test faints, which must not touch the player's real orb or give feedback
+         */
+        void accept(UUID playerId, int faints, boolean synthetic);
+    }
 
-            if (stack.is(ModItems.MYSTERIOUS_ORB.get())) {
-                HuntDataComponents.OrbState currentState = MysteriousOrbItem.getOrbState(stack);
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        MinecraftServer server = event.getServer();
+        processTick((playerId, faints, synthetic) -> applyToPlayer(server, playerId, faints, synthetic));
+    }
 
-                // Only process if orb is not fully filled
-                if (currentState != HuntDataComponents.OrbState.FINAL) {
-                    incrementOrbProgress(player, stack);
-                }
-                return; // Only process one orb per faint
-            }
+    /**
+     * Drains queued battle events and hands this tick's opponent faints to the consumer, once per player.
+     * Runs every server tick; the headless simulation drives it with its own consumer.
+     */
+    public static void processTick(FaintConsumer consumer) {
+        BattleEventQueue.drain(HuntConfig.BATTLE_EVENT_DRAIN_PER_TICK, BattleFaintHandler::handleBattleEvent);
+        applyPendingFaints(pendingFaints, false, consumer);
+        applyPendingFaints(pendingSyntheticFaints, true, consumer);
+    }
+
+    private static void applyPendingFaints(Object2IntOpenHashMap<UUID> pending, boolean synthetic,
+                                           FaintConsumer consumer) {
+        if (pending.isEmpty()) {
+            return;
         }
+        for (Object2IntMap.Entry<UUID> entry : pending.object2IntEntrySet()) {
+            consumer.accept(entry.getKey(), entry.getIntValue(), synthetic);
+        }
+        pending.clear();
     }
 
-    private static void incrementOrbProgress(ServerPlayer player, ItemStack orbStack) {
-        // Get current progress
-        int killCount = MysteriousOrbItem.getKillCount(orbStack);
-        int revealedRunes = MysteriousOrbItem.getRevealedRunes(orbStack);
+    private static void applyToPlayer(MinecraftServer server, UUID playerId, int faints, boolean synthetic) {
+        ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+        // Find the player's Mysterious Orb (cached slot, full scan only on a miss).
+        // Load-test faints progress a scratch orb so the player's real orb is left alone
+        ItemStack stack = synthetic ? FaintLoadGenerator.getScratchOrb(playerId) : OrbSlotCache.findOrb(player);
+        processOpponentFaints(player, stack, faints, synthetic);
+    }
 
-        // Increment kill count
-        killCount++;
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        pendingFaints.clear();
+        pendingSyntheticFaints.clear();
+        BattleEventQueue.clear();
+    }
 
-        // Check if we've reached enough kills for a new rune
-        if (killCount >= HuntConfig.KILLS_PER_RUNE) {
-            killCount = 0; // Reset kill counter
-            revealedRunes++;
+    private static void processOpponentFaints(ServerPlayer player, ItemStack stack, int faints, boolean synthetic) {
+        if (stack == null) {
+            return;
+        }
+
+        OrbData data = MysteriousOrbItem.getOrbData(stack);
+        OrbProgress result = applyFaints(data, faints);
+        if (result == null) {
+            return;
+        }
+
+        // Save progress to orb (one component write). Progress is never buffered, so the stored data is current
+        OrbWriteBuffer.writeNow(stack,
+            data.withProgress(result.getState(), result.getKillCount(), result.getRevealedRunes()));
+
+        // Load-test faints only exercise the orb update: no messages or sounds reach the player
+        if (!synthetic) {
+            notifyProgress(player, result);
+        }
+    }
 
+    /**
+     * Applies a tick's opponent faints to an orb, exactly as if they had been handled one by one.
+     * Returns the progression result (reused, valid until the next call), or null if the orb is already filled.
+     */
+    public static OrbProgress applyFaints(OrbData data, int faints) {
+        // Only process if orb is not fully filled
+        if (data.state() == HuntDataComponents.OrbState.FINAL) {
+            return null;
+        }
+        OrbProgress result = progress.reset(data.killCount(), data.revealedRunes(), data.state());
+        result.applyKills(faints);
+        return result;
+    }
+
+    private static void notifyProgress(ServerPlayer player, OrbProgress result) {
+        int runesGained = result.getRunesGained();
+        if (runesGained > 0) {
             // Notify player of rune reveal
-            player.sendSystemMessage(Component.literal("§dA new rune materializes within the orb..."));
+            player.sendSystemMessage(Component.literal(runesGained == 1
+                ? "§dA new rune materializes within the orb..."
+                : "§d" + runesGained + " new runes materialize within the orb..."));
 
             // Play mystical sound
             player.level().playSound(null, player.blockPosition(),
                 SoundEvents.ENCHANTMENT_TABLE_USE, SoundSource.PLAYERS, 1.0F, 1.2F);
 
-            // Update orb state based on runes revealed
-            HuntDataComponents.OrbState newState = calculateOrbState(revealedRunes);
-            HuntDataComponents.OrbState oldState = MysteriousOrbItem.getOrbState(orbStack);
-
-            if (newState != oldState) {
-                orbStack.set(HuntDataComponents.ORB_STATE.get(), newState.getValue());
-                notifyStateChange(player, newState);
+            if (result.stateChanged()) {
+                notifyStateChange(player, result.getState());
             }
         }
-
-        // Save progress to orb
-        orbStack.set(HuntDataComponents.ORB_KILL_COUNT.get(), killCount);
-        orbStack.set(HuntDataComponents.ORB_REVEALED_RUNES.get(), revealedRunes);
-    }
-
-    private static HuntDataComponents.OrbState calculateOrbState(int revealedRunes) {
-        if (revealedRunes >= HuntConfig.RUNES_FOR_FINAL) {
-            return HuntDataComponents.OrbState.FINAL;
-        } else if (revealedRunes >= HuntConfig.RUNES_FOR_HALF) {
-            return HuntDataComponents.OrbState.HALF;
-        } else if (revealedRunes >= HuntConfig.RUNES_FOR_STAGE_1) {
-            return HuntDataComponents.OrbState.STAGE_1;
-        }
-        return HuntDataComponents.OrbState.EMPTY;
     }
 
     private static void notifyStateChange(ServerPlayer player, HuntDataComponents.OrbState newState) {
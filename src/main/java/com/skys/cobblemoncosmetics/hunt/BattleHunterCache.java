@@ -0,0 +1,210 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
+import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.battles.actor.PlayerBattleActor;
+import com.skys.cobblemoncosmetics.items.ModItems;
+import kotlin.Unit;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.neoforged.neoforge.event.entity.player.ItemEntityPickupEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-battle list of the players in the battle carrying an unfilled Mysterious Orb.
+ * Built when the battle starts and dropped when it ends, so faint handling only looks at
+ * actual hunters, and battles without any hunters cost a single map lookup.
+ * Server thread only: the Cobblemon callbacks go through {@link BattleEventQueue}.
+ *
+ * When one of a battle's players picks up or moves an orb, or joins or leaves {@link OrbHolderRegistry},
+ * the battle's list is dropped and rebuilt from its actors on the next faint. Faints in a battle
+ * without a list (start event missed, or drained after the end event) scan the actors directly.
+ * /hunt loadtest registers synthetic battles by id so its faints go through the same lookup.
+ */
+@EventBusSubscriber
+public class BattleHunterCache {
+
+    private static final Map<UUID, Entry> battles = new HashMap<>();
+    // Battle each player is currently in, for invalidation. Real battles only
+    private static final Map<UUID, UUID> battleByPlayer = new HashMap<>();
+
+    // battle is null for synthetic load-test battles; players is every player actor, hunter or not
+    private record Entry(PokemonBattle battle, List<UUID> hunters, List<UUID> players) {
+    }
+
+    public static void register() {
+        // Battle events may arrive on any thread, so they are handled when BattleFaintHandler drains the queue
+        CobblemonEvents.BATTLE_STARTED_POST.subscribe(Priority.NORMAL, event -> {
+            BattleEventQueue.submit(BattleEventQueue.Kind.STARTED, event.getBattle(), null);
+            return Unit.INSTANCE;
+        });
+        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.LOWEST, event -> {
+            BattleEventQueue.submit(BattleEventQueue.Kind.ENDED, event.getBattle(), null);
+            return Unit.INSTANCE;
+        });
+        CobblemonEvents.BATTLE_FLED.subscribe(Priority.LOWEST, event -> {
+            BattleEventQueue.submit(BattleEventQueue.Kind.ENDED, event.getBattle(), null);
+            return Unit.INSTANCE;
+        });
+    }
+
+    /**
+     * Returns the hunters in the given battle. Without a cached list (start event missed, list invalidated,
+     * or battle already ended) the actors are scanned, and the result is cached unless the battle has ended.
+     * The returned list is empty for battles without hunters and must not be modified.
+     */
+    public static List<UUID> getHunters(PokemonBattle battle) {
+        HuntThreads.assertServerThread("BattleHunterCache.getHunters");
+        Entry entry = battles.get(battle.getBattleId());
+        return entry != null ? entry.hunters() : track(battle);
+    }
+
+    /**
+     * Returns the hunters in a battle registered by id (synthetic load-test battles), or an empty list if unknown.
+     */
+    public static List<UUID> getHunters(UUID battleId) {
+        HuntThreads.assertServerThread("BattleHunterCache.getHunters");
+        Entry entry = battles.get(battleId);
+        return entry != null ? entry.hunters() : List.of();
+    }
+
+    public static int getTrackedBattleCount() {
+        return battles.size();
+    }
+
+    static List<UUID> track(PokemonBattle battle) {
+        HuntThreads.assertServerThread("BattleHunterCache.track");
+        List<UUID> players = new ArrayList<>(2);
+        List<UUID> hunters = scanHunters(battle, players);
+        // A faint drained after the battle's end event would otherwise re-add it until the next prune
+        if (battle.getEnded()) {
+            return hunters;
+        }
+
+        UUID battleId = battle.getBattleId();
+        untrack(battleId);
+        battles.put(battleId, new Entry(battle, hunters, players));
+        for (int i = 0; i < players.size(); i++) {
+            battleByPlayer.put(players.get(i), battleId);
+        }
+        return hunters;
+    }
+
+    /**
+     * Live scan of the battle's actors. Every player actor is added to players.
+     */
+    private static List<UUID> scanHunters(PokemonBattle battle, List<UUID> players) {
+        List<UUID> hunters = List.of();
+        for (var actor : battle.getActors()) {
+            if (!(actor instanceof PlayerBattleActor playerActor)) {
+                continue;
+            }
+            players.add(playerActor.getUuid());
+            if (hasUnfilledOrb(playerActor.getEntity())) {
+                if (hunters.isEmpty()) {
+                    hunters = new ArrayList<>(2);
+                }
+                hunters.add(playerActor.getUuid());
+            }
+        }
+        return hunters;
+    }
+
+    /**
+     * Registers a synthetic battle with a single hunter. Their orb isn't checked; load-test faints use a scratch orb.
+     * Used by /hunt loadtest and the headless simulation.
+     */
+    public static void trackSynthetic(UUID battleId, UUID playerId) {
+        HuntThreads.assertServerThread("BattleHunterCache.trackSynthetic");
+        battles.put(battleId, new Entry(null, List.of(playerId), List.of()));
+    }
+
+    static void untrack(PokemonBattle battle) {
+        untrack(battle.getBattleId());
+    }
+
+    public static void untrack(UUID battleId) {
+        Entry entry = battles.remove(battleId);
+        if (entry != null) {
+            for (int i = 0; i < entry.players().size(); i++) {
+                battleByPlayer.remove(entry.players().get(i), battleId);
+            }
+        }
+    }
+
+    /**
+     * Drops the hunter list of the battle the player is in, so it is rebuilt on the next faint.
+     * Called when the player's orbs may have changed.
+     */
+    static void invalidatePlayer(UUID playerId) {
+        UUID battleId = battleByPlayer.get(playerId);
+        if (battleId != null) {
+            untrack(battleId);
+        }
+    }
+
+    private static boolean hasUnfilledOrb(ServerPlayer player) {
+        if (player == null) {
+            return false;
+        }
+        ItemStack orb = OrbSlotCache.findOrb(player);
+        return orb != null && MysteriousOrbItem.getOrbState(orb) != HuntDataComponents.OrbState.FINAL;
+    }
+
+    private static void pruneEnded() {
+        Iterator<Entry> it = battles.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.battle() != null && entry.battle().getEnded()) {
+                it.remove();
+                for (int i = 0; i < entry.players().size(); i++) {
+                    battleByPlayer.remove(entry.players().get(i), entry.battle().getBattleId());
+                }
+            }
+        }
+    }
+
+    // === Event hooks ===
+
+    @SubscribeEvent
+    public static void onItemPickup(ItemEntityPickupEvent.Post event) {
+        // An orb picked up mid-battle makes the player a hunter from the next faint on
+        if (event.getPlayer() instanceof ServerPlayer player && event.getOriginalStack().is(ModItems.MYSTERIOUS_ORB.get())) {
+            invalidatePlayer(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player
+            && (event.getFrom().is(ModItems.MYSTERIOUS_ORB.get()) || event.getTo().is(ModItems.MYSTERIOUS_ORB.get()))) {
+            invalidatePlayer(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        // Battles that ended without a victory or flee event (e.g. cancelled) are swept here
+        if (HuntClock.get().ticks() % HuntConfig.BATTLE_PRUNE_INTERVAL_TICKS == 0) {
+            pruneEnded();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        battles.clear();
+        battleByPlayer.clear();
+    }
+}
@@ -0,0 +1,149 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per-player cooldowns that expire on their own.
+ *
+ * Reads never modify anything: a cooldown whose end has passed simply reads as inactive until
+ * {@link #expire} removes it. Expiry order comes from a min-heap on end time. Replacing or clearing
+ * a cooldown leaves its old heap entry behind, and that entry is skipped when it reaches the top.
+ * The heap is rebuilt when stale entries outnumber live ones.
+ *
+ * All times are wall-clock millis from {@link HuntClock}, passed in by the caller.
+ */
+public class CooldownService {
+
+    public static final long NO_COOLDOWN = Long.MIN_VALUE;
+
+    private static final int MIN_REBUILD_SIZE = 64;
+
+    private record Expiry(long endMillis, UUID playerId) {}
+
+    @FunctionalInterface
+    public interface CooldownConsumer {
+        void accept(UUID playerId, long endMillis);
+    }
+
+    private final Object2LongOpenHashMap<UUID> ends = new Object2LongOpenHashMap<>();
+    private PriorityQueue<Expiry> heap = new PriorityQueue<>((a, b) -> Long.compare(a.endMillis, b.endMillis));
+    private final List<Consumer<UUID>> expiryListeners = new ArrayList<>();
+
+    public CooldownService() {
+        ends.defaultReturnValue(NO_COOLDOWN);
+    }
+
+    /**
+     * Registers a callback for each cooldown removed by {@link #expire}. Cleared cooldowns don't fire it.
+     */
+    public void addExpiryListener(Consumer<UUID> listener) {
+        expiryListeners.add(listener);
+    }
+
+    // === Reads (side-effect free) ===
+
+    public boolean isActive(UUID playerId, long nowMillis) {
+        long end = ends.getLong(playerId);
+        return end != NO_COOLDOWN && nowMillis < end;
+    }
+
+    public long getRemaining(UUID playerId, long nowMillis) {
+        long end = ends.getLong(playerId);
+        return end == NO_COOLDOWN ? 0 : Math.max(0, end - nowMillis);
+    }
+
+    /**
+     * Returns the stored end time, or {@link #NO_COOLDOWN}. May be in the past until the next expire pass.
+     */
+    public long getEnd(UUID playerId) {
+        return ends.getLong(playerId);
+    }
+
+    public boolean contains(UUID playerId) {
+        return ends.containsKey(playerId);
+    }
+
+    public int size() {
+        return ends.size();
+    }
+
+    public boolean isEmpty() {
+        return ends.isEmpty();
+    }
+
+    /**
+     * Visits every cooldown that is still running at the given time.
+     */
+    public void forEachLive(long nowMillis, CooldownConsumer action) {
+        for (Object2LongMap.Entry<UUID> entry : ends.object2LongEntrySet()) {
+            if (nowMillis < entry.getLongValue()) {
+                action.accept(entry.getKey(), entry.getLongValue());
+            }
+        }
+    }
+
+    public void forEachPlayer(Consumer<UUID> action) {
+        ends.keySet().forEach(action);
+    }
+
+    // === Writes ===
+
+    public void set(UUID playerId, long endMillis) {
+        ends.put(playerId, endMillis);
+        heap.add(new Expiry(endMillis, playerId));
+        if (heap.size() > MIN_REBUILD_SIZE && heap.size() > 2 * ends.size()) {
+            rebuildHeap();
+        }
+    }
+
+    /**
+     * Removes a cooldown without firing expiry listeners. Returns true if there was one.
+     */
+    public boolean clear(UUID playerId) {
+        return ends.removeLong(playerId) != NO_COOLDOWN;
+    }
+
+    public void clearAll() {
+        ends.clear();
+        heap.clear();
+    }
+
+    /**
+     * Removes every cooldown that has ended by the given time and fires the expiry listeners.
+     * Each cooldown is popped from the heap once, so the cost is O(log n) per cooldown ever set.
+     *
+     * @return number of cooldowns that expired
+     */
+    public int expire(long nowMillis) {
+        int expired = 0;
+        Expiry head;
+        while ((head = heap.peek()) != null && head.endMillis <= nowMillis) {
+            heap.poll();
+            // Skip entries that were replaced or cleared after they were queued
+            if (ends.getLong(head.playerId) != head.endMillis) {
+                continue;
+            }
+            ends.removeLong(head.playerId);
+            expired++;
+            for (Consumer<UUID> listener : expiryListeners) {
+                listener.accept(head.playerId);
+            }
+        }
+        return expired;
+    }
+
+    private void rebuildHeap() {
+        PriorityQueue<Expiry> rebuilt = new PriorityQueue<>(Math.max(1, ends.size()), heap.comparator());
+        for (Object2LongMap.Entry<UUID> entry : ends.object2LongEntrySet()) {
+            rebuilt.add(new Expiry(entry.getLongValue(), entry.getKey()));
+        }
+        heap = rebuilt;
+    }
+}
@@ -0,0 +1,272 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * One coordinate puzzle evaluation for one hunter, without players, item stacks or levels.
+ * CoordinatePuzzleHandler runs it for each scheduled ServerPlayer and the headless simulation runs it for
+ * its scripted hunters, so both exercise the same star, proximity and origin code.
+ *
+ * The hunter is seen through {@link Hunter}: position, look and orb data in, and orb writes, feedback
+ * and action bar messages out. Presenting feedback (sounds, chat) is left to the implementation.
+ */
+public class CoordinatePuzzleEvaluator {
+
+    /**
+     * Feedback events, each presented as sounds and possibly a chat message.
+     */
+    public enum Feedback {
+        STAR_EXACT,        // X digit found
+        STAR_CLOSE,        // Close to a star, digit marked close
+        ORIGIN_HUM_FAR,
+        ORIGIN_HUM_MEDIUM,
+        ORIGIN_HUM_CLOSE,
+        ORIGIN_REVEAL,     // Z digits revealed
+        ORIGIN_CONFIRM     // Back on the origin with the Z digits already revealed
+    }
+
+    /**
+     * Action bar messages. Implementations map each to one prebuilt component.
+     */
+    public enum Message {
+        STAR_CLOSE,
+        ORIGIN_FAR,
+        ORIGIN_MEDIUM,
+        ORIGIN_CLOSE,
+        ORIGIN_EXACT
+    }
+
+    /**
+     * A hunter holding a filled orb, as the puzzles see it.
+     */
+    public interface Hunter {
+
+        PuzzlePlayerState puzzleState();
+
+        HuntEnvironment environment();
+
+        ResourceKey<Level> dimension();
+
+        int blockX();
+
+        int blockY();
+
+        int blockZ();
+
+        float pitch();
+
+        double lookX();
+
+        double lookY();
+
+        double lookZ();
+
+        OrbData readOrb();
+
+        /**
+         * @param milestone true for reveals the player must see right away, false for repeating cosmetic marks
+         */
+        void writeOrb(OrbData data, boolean milestone);
+
+        void feedback(Feedback feedback);
+
+        /**
+         * Star beep, with closeness from 0 at the edge of the beep range to 1 at the close band.
+         */
+        void starBeep(float closeness);
+
+        void showActionBar(Message message, long now);
+
+        void clearActionBar();
+    }
+
+    // Origin action bar message per proximity (0=none .. 4=exact)
+    private static final Message[] ORIGIN_MESSAGES =
+        {null, Message.ORIGIN_FAR, Message.ORIGIN_MEDIUM, Message.ORIGIN_CLOSE, Message.ORIGIN_EXACT};
+
+    // Star puzzle targets as precomputed look vectors (moon phase determines which X digit is visible)
+    private final SkyTargetEngine skyTargets = SkyTargetEngine.createStarPuzzle();
+
+    // Proximity anchors (origin puzzle and future location puzzles), indexed by chunk
+    private final ProximityEngine proximityEngine = new ProximityEngine();
+
+    // Origin puzzle anchor at (0, 0, 0), any dimension, with far/medium/close hum bands
+    private final ProximityAnchor originAnchor;
+
+    public CoordinatePuzzleEvaluator() {
+        originAnchor = new ProximityAnchor("origin", null,
+            HuntConfig.ORIGIN_X, HuntConfig.ORIGIN_Y, HuntConfig.ORIGIN_Z, HuntConfig.ORIGIN_HUM_BANDS,
+            this::onOriginBand);
+        proximityEngine.register(originAnchor);
+    }
+
+    public SkyTargetEngine getSkyTargets() {
+        return skyTargets;
+    }
+
+    public ProximityEngine getProximityEngine() {
+        return proximityEngine;
+    }
+
+    public ProximityAnchor getOriginAnchor() {
+        return originAnchor;
+    }
+
+    /**
+     * Runs the star puzzle, then every proximity anchor the hunter is near.
+     */
+    public void evaluate(Hunter hunter) {
+        long now = HuntClock.get().ticks();
+
+        // Check for star puzzle (nighttime, looking up) - this can set override for action bar
+        boolean starCloseActive = checkStarPuzzle(hunter, now);
+
+        // Check proximity puzzles (origin at 0,0,0 and any other registered anchors)
+        checkProximityPuzzles(hunter, starCloseActive);
+    }
+
+    /**
+     * @return true if the star "close" message is currently being shown (to override origin hum)
+     */
+    private boolean checkStarPuzzle(Hunter hunter, long now) {
+        HuntEnvironment environment = hunter.environment();
+
+        // Must be night time and looking upward
+        if (!CoordinatePuzzleRules.isStarGazing(environment.night(), hunter.pitch())) {
+            return false;
+        }
+
+        // Skip digits that are already fully revealed (lower nibble of the mask)
+        OrbData orbData = hunter.readOrb();
+        int xDigits = orbData.xDigits();
+
+        // Find the visible target (matching moon phase) closest to where the hunter is looking
+        double lookX = hunter.lookX();
+        double lookY = hunter.lookY();
+        double lookZ = hunter.lookZ();
+        SkyTarget target = skyTargets.findBest(environment, lookX, lookY, lookZ, xDigits & 0b1111);
+        if (target == null) {
+            return false;
+        }
+        int digitPosition = target.slot();
+
+        // Dot product with the target (1 = perfect), compared against the precomputed range cosines
+        double dot = target.dot(lookX, lookY, lookZ);
+        int band = CoordinatePuzzleRules.starBand(dot);
+        boolean feedbackDue = CoordinatePuzzleRules.claimStarFeedback(hunter.puzzleState(), band, dot, now);
+
+        if (band == CoordinatePuzzleRules.STAR_EXACT) {
+            if (feedbackDue) {
+                // Reveal the X digit (exact). A milestone, so it is written right away
+                hunter.writeOrb(orbData.withXDigits(
+                    CoordinatePuzzleRules.withXDigitRevealed(xDigits, digitPosition, true)), true);
+                hunter.feedback(Feedback.STAR_EXACT);
+            }
+        } else if (band == CoordinatePuzzleRules.STAR_CLOSE) {
+            if (feedbackDue) {
+                // Mark as "close" (yellow) if not already revealed. This repeats every few ticks, so it may be buffered
+                hunter.writeOrb(orbData.withXDigits(
+                    CoordinatePuzzleRules.withXDigitRevealed(xDigits, digitPosition, false)), false);
+                hunter.feedback(Feedback.STAR_CLOSE);
+            }
+
+            // Show hovering action bar message (overrides origin hum)
+            hunter.showActionBar(Message.STAR_CLOSE, now);
+            hunter.puzzleState().starCloseOverrideTime = now;
+            return true;
+        } else if (band == CoordinatePuzzleRules.STAR_BEEP && feedbackDue) {
+            // Getting closer - beeping speeds up and rises in pitch
+            hunter.starBeep(1.0f - SkyTargetEngine.starBeepFraction(dot));
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs every proximity anchor the hunter is near, then notifies anchors they just left with band 0.
+     */
+    private void checkProximityPuzzles(Hunter hunter, boolean starCloseActive) {
+        PuzzlePlayerState state = hunter.puzzleState();
+
+        // Swap active anchor lists so the previous evaluation's anchors can be diffed against this one
+        IntArrayList previous = state.activeAnchors;
+        IntArrayList current = state.previousAnchors;
+        current.clear();
+        state.activeAnchors = current;
+        state.previousAnchors = previous;
+
+        proximityEngine.query(hunter.dimension(), hunter.blockX(), hunter.blockY(), hunter.blockZ(),
+            (anchor, band, exact) -> {
+                current.add(anchor.getId());
+                anchor.getListener().onEvaluate(hunter, anchor, band, exact, starCloseActive);
+            });
+
+        for (int i = 0; i < previous.size(); i++) {
+            int anchorId = previous.getInt(i);
+            if (current.contains(anchorId)) {
+                continue;
+            }
+            ProximityAnchor anchor = proximityEngine.getAnchor(anchorId);
+            if (anchor != null) {
+                anchor.getListener().onEvaluate(hunter, anchor, 0, false, starCloseActive);
+            }
+        }
+    }
+
+    /**
+     * Origin puzzle: travel to exactly (0, 0, 0) to reveal the Z coordinate, with hum feedback on the way.
+     */
+    private void onOriginBand(Hunter hunter, ProximityAnchor anchor, int band, boolean atExactOrigin,
+                              boolean starCloseActive) {
+        PuzzlePlayerState state = hunter.puzzleState();
+        long now = HuntClock.get().ticks();
+
+        // Proximity state: 0=none, 1=far (100 blocks), 2=medium (50), 3=close (25), 4=exact
+        int newProximity = CoordinatePuzzleRules.originProximity(band, atExactOrigin);
+
+        // Z digit coloring on the orb is computed client side (OrbProximityClient)
+
+        // Show action bar message if within range (but not if star close message is active)
+        if (!starCloseActive) {
+            Message message = ORIGIN_MESSAGES[newProximity];
+            if (message != null) {
+                hunter.showActionBar(message, now);
+            } else {
+                // Left the range - let the text fade and resend right away when coming back
+                hunter.clearActionBar();
+            }
+        }
+
+        // Hum feedback on the way in (not at exact origin). Closer = louder and more frequent
+        if (CoordinatePuzzleRules.claimOriginHum(state, newProximity, now)) {
+            hunter.feedback(switch (newProximity) {
+                case 3 -> Feedback.ORIGIN_HUM_CLOSE;
+                case 2 -> Feedback.ORIGIN_HUM_MEDIUM;
+                default -> Feedback.ORIGIN_HUM_FAR;
+            });
+        }
+
+        // Check if the hunter reached the exact origin
+        if (CoordinatePuzzleRules.claimOriginReveal(state, atExactOrigin, now)) {
+            revealZCoordinate(hunter);
+        }
+
+        // Track state changes for logging
+        state.lastProximityState = newProximity;
+    }
+
+    private void revealZCoordinate(Hunter hunter) {
+        // Check if Z digits already revealed
+        OrbData orbData = hunter.readOrb();
+        if (orbData.zDigits() == CoordinatePuzzleRules.ALL_DIGITS) {
+            hunter.feedback(Feedback.ORIGIN_CONFIRM);
+            return;
+        }
+
+        // Reveal all Z digits
+        hunter.writeOrb(orbData.withZDigits(CoordinatePuzzleRules.ALL_DIGITS), true);
+        hunter.feedback(Feedback.ORIGIN_REVEAL);
+    }
+}
@@ -1,19 +1,21 @@
 package com.skys.cobblemoncosmetics.hunt;
 
-import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
-import com.skys.cobblemoncosmetics.items.ModItems;
-import net.minecraft.ChatFormatting;
-import net.minecraft.core.BlockPos;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleEvaluator.Feedback;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleEvaluator.Message;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.protocol.game.ClientboundSetActionBarTextPacket;
-import net.minecraft.server.level.ServerLevel;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
-import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,326 +25,234 @@ import java.util.UUID;
  * Handles the coordinate puzzle mechanics for the Crystal Ascendancy hunt.
  * - Star puzzle: Look at sky at night to find X coordinate digits (position feedback, not actual number)
  * - Origin puzzle: Travel to exactly (0,0,0) to reveal Z coordinate (with proximity feedback)
+ * Proximity puzzles are anchors in a ProximityEngine, so more locations can be added without extra per-player cost.
+ *
+ * The puzzle decisions live in {@link CoordinatePuzzleEvaluator}; this class schedules hunters, wraps each
+ * ServerPlayer for it, and turns its feedback into sounds, chat and action bar packets.
  */
 @EventBusSubscriber
 public class CoordinatePuzzleHandler {
 
-    // Track last beep/hum time per player to control sound frequency
-    private static final Map<UUID, Long> lastStarBeepTime = new HashMap<>();
-    private static final Map<UUID, Long> lastStarCloseMessageTime = new HashMap<>();
-    private static final Map<UUID, Long> lastOriginHumTime = new HashMap<>();
-    private static final Map<UUID, Long> lastOriginRevealTime = new HashMap<>();
-    private static final Map<UUID, Integer> lastProximityState = new HashMap<>();
+    // Beep/hum timing and proximity tracking per player, evicted on logout
+    private static final Map<UUID, PuzzlePlayerState> playerStates = new HashMap<>();
 
-    // Target directions for each X digit (moon phase determines which digit)
-    // Moon phases: 0=full, 1, 2, 3, 4=new, 5, 6, 7
-    private static final float[] TARGET_YAWS = {45.0f, 135.0f, 225.0f, 315.0f}; // NE, SE, SW, NW
-    private static final float TARGET_PITCH = -60.0f; // Looking up at 60 degrees
+    // Star targets, proximity anchors and the origin puzzle
+    private static final CoordinatePuzzleEvaluator evaluator = new CoordinatePuzzleEvaluator();
 
-    // Track if star close message should override origin hum message
-    private static final Map<UUID, Long> starCloseOverrideTime = new HashMap<>();
+    // View of the player being evaluated, rebound for each one (server thread only)
+    private static final PlayerHunter currentHunter = new PlayerHunter();
+
+    // Spreads hunters across the evaluation period by UUID so they don't all run on the same tick
+    private static final PuzzleScheduler<ServerPlayer> scheduler = new PuzzleScheduler<>(
+        HuntConfig.PUZZLE_EVAL_PERIOD_TICKS, HuntConfig.PUZZLE_MAX_EVALS_PER_TICK, ServerPlayer::getUUID);
+
+    // Prebuilt action bar messages (the channel compares by identity to skip duplicate packets)
+    private static final Component STAR_CLOSE_MESSAGE =
+        Component.literal("§e§lThe orb shimmers happily. You must be close...");
+    private static final Component ORIGIN_EXACT_MESSAGE =
+        Component.literal("§a§l✦ The orb resonates with the origin ✦");
+    private static final Component ORIGIN_CLOSE_MESSAGE = Component.literal("§e§lThe orb hums even louder...");
+    private static final Component ORIGIN_MEDIUM_MESSAGE = Component.literal("§6The orb hums loudly...");
+    private static final Component ORIGIN_FAR_MESSAGE = Component.literal("§cThe orb hums softly...");
 
     @SubscribeEvent
-    public static void onPlayerTick(PlayerTickEvent.Post event) {
-        if (!(event.getEntity() instanceof ServerPlayer player)) {
+    public static void onServerTick(ServerTickEvent.Post event) {
+        // Only players holding a filled orb are registered (by OrbHolderRegistry), so idle players cost nothing here.
+        // Each hunter is checked once per period (5 ticks = 0.25 seconds) on their own phase slot.
+        scheduler.tick(HuntClock.get().ticks(), CoordinatePuzzleHandler::evaluatePlayer);
+    }
+
+    private static void evaluatePlayer(ServerPlayer player) {
+        if (player.isRemoved()) {
             return;
         }
 
-        // Only check every 5 ticks (0.25 seconds) for more responsive feedback
-        if (player.tickCount % 5 != 0) {
+        // Registry is event-driven, so re-resolve the held orb in case it changed this tick
+        ItemStack orbStack = OrbHolderRegistry.findHeldFinalOrb(player);
+        if (orbStack == null) {
             return;
         }
 
-        // Check if player is holding the mysterious orb in hand
-        ItemStack mainHand = player.getMainHandItem();
-        ItemStack offHand = player.getOffhandItem();
+        // Single lookup for all of this player's puzzle timers
+        PuzzlePlayerState state = playerStates.computeIfAbsent(player.getUUID(), id -> new PuzzlePlayerState());
 
-        ItemStack orbStack = null;
-        if (mainHand.is(ModItems.MYSTERIOUS_ORB.get())) {
-            orbStack = mainHand;
-        } else if (offHand.is(ModItems.MYSTERIOUS_ORB.get())) {
-            orbStack = offHand;
-        }
+        evaluator.evaluate(currentHunter.bind(player, orbStack, state));
+    }
 
-        if (orbStack == null) {
-            // Clear proximity state when not holding orb
-            UUID playerId = player.getUUID();
-            if (lastProximityState.containsKey(playerId)) {
-                lastProximityState.remove(playerId);
-            }
-            return;
-        }
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        // Drop all puzzle state so the map only ever holds online players
+        playerStates.remove(event.getEntity().getUUID());
+    }
 
-        // Check orb state - only works when orb is filled (has all runes)
-        HuntDataComponents.OrbState state = MysteriousOrbItem.getOrbState(orbStack);
-        if (state != HuntDataComponents.OrbState.FINAL) {
-            return;
-        }
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        playerStates.clear();
+        scheduler.clear();
+        currentHunter.bind(null, null, null);
+    }
+
+    public static PuzzleScheduler<ServerPlayer> getScheduler() {
+        return scheduler;
+    }
 
-        // Check for star puzzle (nighttime, looking up) - this can set override for action bar
-        boolean starCloseActive = checkStarPuzzle(player, orbStack);
+    public static ProximityEngine getProximityEngine() {
+        return evaluator.getProximityEngine();
+    }
 
-        // Check for origin puzzle (proximity to 0,0,0)
-        checkOriginPuzzle(player, orbStack, starCloseActive);
+    public static SkyTargetEngine getSkyTargets() {
+        return evaluator.getSkyTargets();
     }
 
     /**
-     * @return true if the star "close" message is currently being shown (to override origin hum)
+     * A ServerPlayer and their held orb as a puzzle hunter. Orb writes go through {@link OrbWriteBuffer}.
      */
-    private static boolean checkStarPuzzle(ServerPlayer player, ItemStack orbStack) {
-        ServerLevel level = player.serverLevel();
-        UUID playerId = player.getUUID();
-
-        // Must be night time
-        long dayTime = level.getDayTime() % 24000;
-        boolean isNight = dayTime >= 13000 && dayTime <= 23000;
-        if (!isNight) {
-            return false;
+    private static final class PlayerHunter implements CoordinatePuzzleEvaluator.Hunter {
+
+        private ServerPlayer player;
+        private ItemStack orbStack;
+        private PuzzlePlayerState state;
+        // Look vector, read once per evaluation
+        private double lookX;
+        private double lookY;
+        private double lookZ;
+
+        PlayerHunter bind(ServerPlayer player, ItemStack orbStack, PuzzlePlayerState state) {
+            this.player = player;
+            this.orbStack = orbStack;
+            this.state = state;
+            if (player != null) {
+                Vec3 look = player.getLookAngle();
+                lookX = look.x;
+                lookY = look.y;
+                lookZ = look.z;
+            }
+            return this;
         }
 
-        // Must be looking upward (negative pitch)
-        float pitch = player.getXRot();
-        if (pitch > -30.0f) {
-            // Not looking up enough
-            return false;
+        @Override
+        public PuzzlePlayerState puzzleState() {
+            return state;
         }
 
-        // Get moon phase to determine which digit position we're searching for
-        int moonPhase = level.getMoonPhase();
-        int digitPosition = moonPhase / 2; // 0-3 for 4 digit positions
-
-        // Skip if this digit is already fully revealed
-        if (MysteriousOrbItem.isXDigitRevealed(orbStack, digitPosition)) {
-            return false;
+        @Override
+        public HuntEnvironment environment() {
+            // Shared per-tick view of the level's time and moon phase
+            return HuntEnvironment.of(player.serverLevel());
         }
 
-        // Get target direction for this digit
-        float targetYaw = TARGET_YAWS[digitPosition];
-
-        // Calculate how close player is looking to the target direction
-        float yaw = normalizeAngle(player.getYRot());
-        float normalizedTargetYaw = normalizeAngle(targetYaw);
-
-        float yawDiff = Math.abs(angleDifference(yaw, normalizedTargetYaw));
-        float pitchDiff = Math.abs(pitch - TARGET_PITCH);
-
-        // Combined accuracy (0 = perfect, higher = further off)
-        float accuracy = (yawDiff + pitchDiff) / 2.0f;
-
-        long currentTime = System.currentTimeMillis();
-        boolean showingCloseMessage = false;
-
-        // Check if player is close enough for the exact "ding" (found it!)
-        if (accuracy < HuntConfig.STAR_EXACT_RANGE) {
-            // Player found the exact direction!
-            Long lastBeep = lastStarBeepTime.get(playerId);
-            if (lastBeep == null || currentTime - lastBeep > 2000) {
-                // Play loud success ding
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.AMETHYST_BLOCK_CHIME, SoundSource.PLAYERS, 1.5F, 1.8F);
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.EXPERIENCE_ORB_PICKUP, SoundSource.PLAYERS, 1.0F, 1.5F);
-
-                // Reveal the X digit (exact)
-                MysteriousOrbItem.revealXDigit(orbStack, digitPosition, true);
-
-                // Send success message
-                player.sendSystemMessage(Component.literal(
-                    "§a✦ The stars align! The inscription on the orb becomes a little more clear. ✦"
-                ));
-
-                // Play magical reveal sound
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.ENCHANTMENT_TABLE_USE, SoundSource.PLAYERS, 1.0F, 1.5F);
-
-                lastStarBeepTime.put(playerId, currentTime);
-            }
-        } else if (accuracy < HuntConfig.STAR_CLOSE_RANGE) {
-            // Player is close - yellow feedback with hovering message
-            Long lastBeep = lastStarBeepTime.get(playerId);
-            if (lastBeep == null || currentTime - lastBeep > 500) {
-                // Mark as "close" (yellow) if not already revealed
-                MysteriousOrbItem.revealXDigit(orbStack, digitPosition, false);
-
-                // High-pitched chime for close
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.NOTE_BLOCK_CHIME.value(), SoundSource.PLAYERS, 0.8F, 1.5F);
-
-                lastStarBeepTime.put(playerId, currentTime);
-            }
-
-            // Show hovering action bar message (overrides origin hum)
-            player.connection.send(new ClientboundSetActionBarTextPacket(
-                Component.literal("§e§lThe orb shimmers happily. You must be close...")
-            ));
-            showingCloseMessage = true;
-            starCloseOverrideTime.put(playerId, currentTime);
+        @Override
+        public ResourceKey<Level> dimension() {
+            return player.level().dimension();
+        }
 
-        } else if (accuracy < HuntConfig.STAR_BEEP_RANGE) {
-            // Player is getting closer - play beeping that speeds up
-            Long lastBeep = lastStarBeepTime.get(playerId);
+        @Override
+        public int blockX() {
+            return player.blockPosition().getX();
+        }
 
-            // Beep interval based on accuracy (closer = faster beeping)
-            long beepInterval = (long) (150 + (accuracy / HuntConfig.STAR_BEEP_RANGE) * 600);
+        @Override
+        public int blockY() {
+            return player.blockPosition().getY();
+        }
 
-            if (lastBeep == null || currentTime - lastBeep > beepInterval) {
-                // Calculate pitch based on accuracy (closer = higher pitch)
-                float soundPitch = 0.6f + (1.0f - accuracy / HuntConfig.STAR_BEEP_RANGE) * 1.2f;
+        @Override
+        public int blockZ() {
+            return player.blockPosition().getZ();
+        }
 
-                // Louder and more prominent bell sound
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.NOTE_BLOCK_BELL.value(), SoundSource.PLAYERS, 0.9F, soundPitch);
+        @Override
+        public float pitch() {
+            return player.getXRot();
+        }
 
-                lastStarBeepTime.put(playerId, currentTime);
-            }
+        @Override
+        public double lookX() {
+            return lookX;
         }
 
-        return showingCloseMessage;
-    }
+        @Override
+        public double lookY() {
+            return lookY;
+        }
 
-    private static void checkOriginPuzzle(ServerPlayer player, ItemStack orbStack, boolean starCloseActive) {
-        BlockPos playerPos = player.blockPosition();
-
-        // Calculate distance to world origin (0, any Y, 0) for proximity feedback
-        double distanceXZ = Math.sqrt(playerPos.getX() * playerPos.getX() + playerPos.getZ() * playerPos.getZ());
-
-        // Check if player is EXACTLY at origin (X=0, Y=0, and Z=0)
-        boolean atExactOrigin = playerPos.getX() == 0 && playerPos.getY() == 0 && playerPos.getZ() == 0;
-
-        UUID playerId = player.getUUID();
-        long currentTime = System.currentTimeMillis();
-
-        // Determine proximity state
-        int newProximity;
-        String actionBarMessage;
-
-        if (atExactOrigin) {
-            newProximity = 4; // Exact - at origin
-            actionBarMessage = "§a§l✦ The orb resonates with the origin ✦";
-        } else if (distanceXZ <= HuntConfig.ORIGIN_HUM_CLOSE) {
-            newProximity = 3; // Close (25 blocks)
-            actionBarMessage = "§e§lThe orb hums even louder...";
-        } else if (distanceXZ <= HuntConfig.ORIGIN_HUM_MEDIUM) {
-            newProximity = 2; // Medium (50 blocks)
-            actionBarMessage = "§6The orb hums loudly...";
-        } else if (distanceXZ <= HuntConfig.ORIGIN_HUM_RANGE) {
-            newProximity = 1; // Far (100 blocks)
-            actionBarMessage = "§cThe orb hums softly...";
-        } else {
-            newProximity = 0; // Out of range
-            actionBarMessage = null;
+        @Override
+        public double lookZ() {
+            return lookZ;
         }
 
-        // Update proximity state on the orb (for display coloring)
-        int currentProximity = MysteriousOrbItem.getProximity(orbStack);
-        if (currentProximity != newProximity) {
-            MysteriousOrbItem.setProximity(orbStack, newProximity);
+        @Override
+        public OrbData readOrb() {
+            return OrbWriteBuffer.read(player, orbStack);
         }
 
-        // Show action bar message if within range (but not if star close message is active)
-        if (actionBarMessage != null && !starCloseActive) {
-            player.connection.send(new ClientboundSetActionBarTextPacket(
-                Component.literal(actionBarMessage)
-            ));
+        @Override
+        public void writeOrb(OrbData data, boolean milestone) {
+            if (milestone) {
+                OrbWriteBuffer.writeNow(orbStack, data);
+            } else {
+                OrbWriteBuffer.write(player, orbStack, data);
+            }
         }
 
-        // Handle audio feedback based on proximity (not at exact origin)
-        if (newProximity > 0 && newProximity < 4) {
-            Long lastHum = lastOriginHumTime.get(playerId);
-
-            // Calculate hum interval and volume based on proximity
-            // Closer = louder and more frequent
-            long humInterval;
-            float volume;
-            float pitch;
-
-            switch (newProximity) {
-                case 3 -> { // Close (25 blocks)
-                    humInterval = 300;
-                    volume = 1.2F;
-                    pitch = 0.7F;
-                }
-                case 2 -> { // Medium (50 blocks)
-                    humInterval = 600;
-                    volume = 0.9F;
-                    pitch = 0.5F;
+        @Override
+        public void feedback(Feedback feedback) {
+            switch (feedback) {
+                case STAR_EXACT -> {
+                    // Loud success ding
+                    playSound(SoundEvents.AMETHYST_BLOCK_CHIME, 1.5F, 1.8F);
+                    playSound(SoundEvents.EXPERIENCE_ORB_PICKUP, 1.0F, 1.5F);
+                    player.sendSystemMessage(Component.literal(
+                        "§a✦ The stars align! The inscription on the orb becomes a little more clear. ✦"
+                    ));
+                    // Magical reveal sound
+                    playSound(SoundEvents.ENCHANTMENT_TABLE_USE, 1.0F, 1.5F);
                 }
-                default -> { // Far (100 blocks)
-                    humInterval = 1000;
-                    volume = 0.6F;
-                    pitch = 0.4F;
+                // High-pitched chime for close
+                case STAR_CLOSE -> playSound(SoundEvents.NOTE_BLOCK_CHIME.value(), 0.8F, 1.5F);
+                // Hums use a short, responsive sound. Closer = louder
+                case ORIGIN_HUM_CLOSE -> playSound(SoundEvents.BEACON_AMBIENT, 1.2F, 0.7F);
+                case ORIGIN_HUM_MEDIUM -> playSound(SoundEvents.BEACON_AMBIENT, 0.9F, 0.5F);
+                case ORIGIN_HUM_FAR -> playSound(SoundEvents.BEACON_AMBIENT, 0.6F, 0.4F);
+                // Already revealed, just a gentle confirmation
+                case ORIGIN_CONFIRM -> playSound(SoundEvents.AMETHYST_BLOCK_CHIME, 0.5F, 1.0F);
+                case ORIGIN_REVEAL -> {
+                    // Epic discovery sequence
+                    playSound(SoundEvents.BEACON_ACTIVATE, 1.5F, 1.2F);
+                    player.sendSystemMessage(Component.literal(
+                        "§a✦ The orb swirls with satisfaction. The inscription becomes ever clearer. ✦"
+                    ));
+                    playSound(SoundEvents.PLAYER_LEVELUP, 1.0F, 1.0F);
+                    playSound(SoundEvents.AMETHYST_BLOCK_CHIME, 1.0F, 1.5F);
                 }
             }
-
-            if (lastHum == null || currentTime - lastHum > humInterval) {
-                // Use a shorter, more responsive sound
-                player.level().playSound(null, player.blockPosition(),
-                    SoundEvents.BEACON_AMBIENT, SoundSource.PLAYERS, volume, pitch);
-
-                lastOriginHumTime.put(playerId, currentTime);
-            }
         }
 
-        // Check if player reached the exact origin
-        if (atExactOrigin) {
-            Long lastReveal = lastOriginRevealTime.get(playerId);
-            if (lastReveal == null || currentTime - lastReveal > 10000) {
-                revealZCoordinate(player, orbStack);
-                lastOriginRevealTime.put(playerId, currentTime);
-            }
+        @Override
+        public void starBeep(float closeness) {
+            // Louder and more prominent bell, higher pitched closer to the target
+            playSound(SoundEvents.NOTE_BLOCK_BELL.value(), 0.9F, 0.6f + closeness * 1.2f);
         }
 
-        // Track state changes for logging
-        Integer lastState = lastProximityState.get(playerId);
-        if (lastState == null || lastState != newProximity) {
-            lastProximityState.put(playerId, newProximity);
+        @Override
+        public void showActionBar(Message message, long now) {
+            Component component = switch (message) {
+                case STAR_CLOSE -> STAR_CLOSE_MESSAGE;
+                case ORIGIN_EXACT -> ORIGIN_EXACT_MESSAGE;
+                case ORIGIN_CLOSE -> ORIGIN_CLOSE_MESSAGE;
+                case ORIGIN_MEDIUM -> ORIGIN_MEDIUM_MESSAGE;
+                case ORIGIN_FAR -> ORIGIN_FAR_MESSAGE;
+            };
+            state.actionBar.show(player, component, now);
         }
-    }
 
-    private static void revealZCoordinate(ServerPlayer player, ItemStack orbStack) {
-        // Check if Z digits already revealed
-        if (MysteriousOrbItem.getZDigits(orbStack) == 0b1111) {
-            // Already revealed, just play a gentle confirmation
-            player.level().playSound(null, player.blockPosition(),
-                SoundEvents.AMETHYST_BLOCK_CHIME, SoundSource.PLAYERS, 0.5F, 1.0F);
-            return;
+        @Override
+        public void clearActionBar() {
+            state.actionBar.clear();
         }
 
-        // Play epic discovery sequence
-        player.level().playSound(null, player.blockPosition(),
-            SoundEvents.BEACON_ACTIVATE, SoundSource.PLAYERS, 1.5F, 1.2F);
-
-        // Reveal all Z digits
-        MysteriousOrbItem.revealAllZDigits(orbStack);
-
-        // Send triumphant message
-        player.sendSystemMessage(Component.literal(
-            "§a✦ The orb swirls with satisfaction. The inscription becomes ever clearer. ✦"
-        ));
-
-        // Play level up sound for achievement feel
-        player.level().playSound(null, player.blockPosition(),
-            SoundEvents.PLAYER_LEVELUP, SoundSource.PLAYERS, 1.0F, 1.0F);
-
-        // Delayed chime for extra impact
-        player.level().playSound(null, player.blockPosition(),
-            SoundEvents.AMETHYST_BLOCK_CHIME, SoundSource.PLAYERS, 1.0F, 1.5F);
-    }
-
-    // Utility: Normalize angle to 0-360 range
-    private static float normalizeAngle(float angle) {
-        angle = angle % 360.0f;
-        if (angle < 0) {
-            angle += 360.0f;
+        private void playSound(SoundEvent sound, float volume, float pitch) {
+            player.level().playSound(null, player.blockPosition(), sound, SoundSource.PLAYERS, volume, pitch);
         }
-        return angle;
-    }
-
-    // Utility: Calculate shortest angle difference
-    private static float angleDifference(float a, float b) {
-        float diff = a - b;
-        while (diff > 180) diff -= 360;
-        while (diff < -180) diff += 360;
-        return diff;
     }
 }
@@ -0,0 +1,122 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+/**
+ * Coordinate puzzle decisions (feedback bands, sound and reveal timing, digit mask math), kept free of
+ * players and item stacks so CoordinatePuzzleHandler and the headless simulation run the same rules.
+ * The claim methods check a timer in {@link PuzzlePlayerState} and restart it when they return true.
+ */
+public final class CoordinatePuzzleRules {
+
+    // Star puzzle feedback bands, from furthest to exact
+    public static final int STAR_MISS = 0;
+    public static final int STAR_BEEP = 1;
+    public static final int STAR_CLOSE = 2;
+    public static final int STAR_EXACT = 3;
+
+    // Origin proximity: 0=none, 1=far, 2=medium, 3=close (the anchor's bands), 4=exact
+    public static final int ORIGIN_EXACT = 4;
+
+    public static final int ALL_DIGITS = 0b1111;
+
+    // Star puzzle only reacts when looking at least this far up (negative pitch)
+    private static final float STAR_MAX_PITCH = -30.0f;
+
+    // Ticks between feedback
+    private static final long STAR_EXACT_INTERVAL = 40;
+    private static final long STAR_CLOSE_INTERVAL = 10;
+    private static final long ORIGIN_REVEAL_INTERVAL = 200;
+
+    private CoordinatePuzzleRules() {
+    }
+
+    // === Star puzzle (X coordinate) ===
+
+    /**
+     * True when the star puzzle can run at all: night time, looking up at the sky.
+     */
+    public static boolean isStarGazing(boolean night, float pitch) {
+        return night && pitch <= STAR_MAX_PITCH;
+    }
+
+    /**
+     * Feedback band for a look with the given dot product against the matched target.
+     */
+    public static int starBand(double dot) {
+        if (dot > SkyTargetEngine.STAR_EXACT_DOT) {
+            return STAR_EXACT;
+        } else if (dot > SkyTargetEngine.STAR_CLOSE_DOT) {
+            return STAR_CLOSE;
+        } else if (dot > SkyTargetEngine.STAR_BEEP_DOT) {
+            return STAR_BEEP;
+        }
+        return STAR_MISS;
+    }
+
+    /**
+     * Returns true if the band's sound (and for exact/close, the digit update) is due.
+     * Beeps speed up from every 15 ticks at the edge of the range to every 3 ticks near the target.
+     */
+    public static boolean claimStarFeedback(PuzzlePlayerState state, int band, double dot, long now) {
+        long interval = switch (band) {
+            case STAR_EXACT -> STAR_EXACT_INTERVAL;
+            case STAR_CLOSE -> STAR_CLOSE_INTERVAL;
+            case STAR_BEEP -> (long) (3 + SkyTargetEngine.starBeepFraction(dot) * 12);
+            default -> -1;
+        };
+        if (interval < 0 || !PuzzlePlayerState.hasElapsed(state.lastStarBeepTime, now, interval)) {
+            return false;
+        }
+        state.lastStarBeepTime = now;
+        return true;
+    }
+
+    /**
+     * Returns the X digit mask with a position marked as revealed (exact) or close.
+     * Lower nibble is revealed digits, upper nibble is digits the player has been close to.
+     */
+    public static int withXDigitRevealed(int mask, int position, boolean exact) {
+        if (exact) {
+            // Set the revealed bit and clear the close bit
+            mask |= (1 << position);
+            mask &= ~(1 << (position + 4));
+        } else if ((mask & (1 << position)) == 0) {
+            // Set the close bit if not already revealed
+            mask |= (1 << (position + 4));
+        }
+        return mask;
+    }
+
+    // === Origin puzzle (Z coordinate) ===
+
+    public static int originProximity(int band, boolean exact) {
+        return exact ? ORIGIN_EXACT : band;
+    }
+
+    /**
+     * Returns true if a hum is due. Closer bands hum more often; none at the exact origin or out of range.
+     */
+    public static boolean claimOriginHum(PuzzlePlayerState state, int proximity, long now) {
+        long interval = switch (proximity) {
+            case 3 -> 6;  // Close (25 blocks)
+            case 2 -> 12; // Medium (50 blocks)
+            case 1 -> 20; // Far (100 blocks)
+            default -> -1;
+        };
+        if (interval < 0 || !PuzzlePlayerState.hasElapsed(state.lastOriginHumTime, now, interval)) {
+            return false;
+        }
+        state.lastOriginHumTime = now;
+        return true;
+    }
+
+    /**
+     * Returns true if standing on the exact origin should reveal the Z digits (again) now.
+     */
+    public static boolean claimOriginReveal(PuzzlePlayerState state, boolean exact, long now) {
+        if (!exact || !PuzzlePlayerState.hasElapsed(state.lastOriginRevealTime, now, ORIGIN_REVEAL_INTERVAL)) {
+            return false;
+        }
+        state.lastOriginRevealTime = now;
+        return true;
+    }
+}
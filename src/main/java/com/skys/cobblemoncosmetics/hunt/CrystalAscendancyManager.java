@@ -1,6 +1,11 @@
 package com.skys.cobblemoncosmetics.hunt;
 
 import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ByteMap;
+import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -8,17 +13,28 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.saveddata.SavedData;
-
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Persistent world data for tracking the Crystal Ascendancy race state.
  * Tracks which players have joined, cooldowns, and the winner.
+ *
+ * On a running server the per-player records are stored in {@link RaceShardStore} bucket files,
+ * and this SavedData file only holds the race header.
  */
+@EventBusSubscriber
 public class CrystalAscendancyManager extends SavedData {
 
     private static final String DATA_NAME = SkysCobblemonCosmetics.MOD_ID + "_crystal_ascendancy";
@@ -29,12 +45,32 @@ public class CrystalAscendancyManager extends SavedData {
     private UUID winnerUUID = null;
     private long raceStartTime = 0;
 
-    // Player tracking
-    private final Set<UUID> playersInRace = new HashSet<>();
-    private final Map<UUID, Long> playerCooldowns = new HashMap<>();
-    private final Map<UUID, Integer> playerStages = new HashMap<>(); // Hunt stage progress (1-5)
+    // Player tracking (cooldowns are persisted, so they use wall-clock time from HuntClock)
+    // Primitive-valued maps so stage lookups don't box; cooldowns expire through CooldownService
+    private static final byte NO_STAGE = 0;
+    private final Set<UUID> playersInRace = new ObjectOpenHashSet<>();
+    private final CooldownService cooldowns = new CooldownService();
+    private final Object2ByteOpenHashMap<UUID> playerStages = new Object2ByteOpenHashMap<>(); // Hunt stage progress (1-5)
+    private final Object2LongOpenHashMap<UUID> stageReachedAt = new Object2LongOpenHashMap<>(); // Wall-clock millis, or RaceLeaderboard.UNKNOWN_TIME
+    private final RaceLeaderboard leaderboard = new RaceLeaderboard(); // Ordered view of playerStages + stageReachedAt
+    private final StageTimeline timeline = new StageTimeline(HuntConfig.STAGE_TIMELINE_CAPACITY); // Not saved, appended to its own file
+
+    // Immutable snapshots returned by the getters, rebuilt on the first read after a change
+    private long playersVersion = 0;
+    private long stagesVersion = 0;
+    private Set<UUID> playersView = Set.of();
+    private long playersViewVersion = 0;
+    private Map<UUID, Integer> stagesView = Map.of();
+    private long stagesViewVersion = 0;
+
+    // Bucket files for player records; null when detached from a world (e.g. in simulations)
+    private RaceShardStore shards = null;
+    private boolean playersSharded = false; // Loaded header says player records live in the buckets
 
     public CrystalAscendancyManager() {
+        playerStages.defaultReturnValue(NO_STAGE);
+        stageReachedAt.defaultReturnValue(RaceLeaderboard.UNKNOWN_TIME);
+        cooldowns.addExpiryListener(this::markPlayerDirty);
     }
 
     // === Race State Methods ===
@@ -54,7 +90,7 @@ public class CrystalAscendancyManager extends SavedData {
     public void startRace() {
         if (!raceStarted) {
             raceStarted = true;
-            raceStartTime = System.currentTimeMillis();
+            raceStartTime = HuntClock.get().wallMillis();
             setDirty();
             SkysCobblemonCosmetics.LOGGER.info("Crystal Ascendancy race has started!");
         }
@@ -75,7 +111,11 @@ public class CrystalAscendancyManager extends SavedData {
         winnerUUID = null;
         raceStartTime = 0;
         playersInRace.clear();
-        playerCooldowns.clear();
+        playersVersion++;
+        cooldowns.clearAll();
+        if (shards != null) {
+            shards.markAllDirty();
+        }
         setDirty();
         SkysCobblemonCosmetics.LOGGER.info("Crystal Ascendancy race has been reset!");
     }
@@ -88,12 +128,29 @@ public class CrystalAscendancyManager extends SavedData {
 
     public void addPlayerToRace(UUID playerUUID) {
         if (playersInRace.add(playerUUID)) {
-            setDirty();
+            playersVersion++;
+            markPlayerDirty(playerUUID);
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the players in the race. The same instance is returned until
+     * the roster changes, so repeated calls don't copy. Call on the server thread; the result can be
+     * handed to other threads.
+     */
     public Set<UUID> getPlayersInRace() {
-        return new HashSet<>(playersInRace);
+        if (playersViewVersion != playersVersion) {
+            playersView = Set.copyOf(playersInRace);
+            playersViewVersion = playersVersion;
+        }
+        return playersView;
+    }
+
+    /**
+     * Changes whenever a player joins or the race is reset, for callers caching their own derived data.
+     */
+    public long getPlayersVersion() {
+        return playersVersion;
     }
 
     public int getPlayerCount() {
@@ -103,38 +160,42 @@ public class CrystalAscendancyManager extends SavedData {
     // === Cooldown Methods ===
 
     public boolean isOnCooldown(UUID playerUUID) {
-        Long cooldownEnd = playerCooldowns.get(playerUUID);
-        if (cooldownEnd == null) {
-            return false;
-        }
-        if (System.currentTimeMillis() >= cooldownEnd) {
-            playerCooldowns.remove(playerUUID);
-            setDirty();
-            return false;
-        }
-        return true;
+        return cooldowns.isActive(playerUUID, HuntClock.get().wallMillis());
     }
 
     public void setCooldown(UUID playerUUID, long durationMs) {
-        playerCooldowns.put(playerUUID, System.currentTimeMillis() + durationMs);
-        setDirty();
+        cooldowns.set(playerUUID, HuntClock.get().wallMillis() + durationMs);
+        markPlayerDirty(playerUUID);
     }
 
     public long getCooldownRemaining(UUID playerUUID) {
-        Long cooldownEnd = playerCooldowns.get(playerUUID);
-        if (cooldownEnd == null) {
-            return 0;
-        }
-        long remaining = cooldownEnd - System.currentTimeMillis();
-        return Math.max(0, remaining);
+        return cooldowns.getRemaining(playerUUID, HuntClock.get().wallMillis());
     }
 
     public void clearCooldown(UUID playerUUID) {
-        if (playerCooldowns.remove(playerUUID) != null) {
-            setDirty();
+        if (cooldowns.clear(playerUUID)) {
+            markPlayerDirty(playerUUID);
         }
     }
 
+    /**
+     * Registers a callback for when a player's cooldown runs out (called from the periodic sweep).
+     */
+    public void addCooldownExpiryListener(Consumer<UUID> listener) {
+        cooldowns.addExpiryListener(listener);
+    }
+
+    /**
+     * Removes cooldowns that have ended, so they drop out of memory and the next save.
+     */
+    public int expireCooldowns() {
+        return cooldowns.expire(HuntClock.get().wallMillis());
+    }
+
+    public int getCooldownCount() {
+        return cooldowns.size();
+    }
+
     // === Stage Progress Methods ===
 
     /**
@@ -142,7 +203,8 @@ public class CrystalAscendancyManager extends SavedData {
      * Stages: 1=Not started, 2=Has orb, 3=Orb filled, 4=Has tablet, 5=Complete
      */
     public int getPlayerStage(UUID playerUUID) {
-        return playerStages.getOrDefault(playerUUID, 1);
+        byte stage = playerStages.getByte(playerUUID);
+        return stage == NO_STAGE ? 1 : stage;
     }
 
     /**
@@ -151,31 +213,188 @@ public class CrystalAscendancyManager extends SavedData {
     public void setPlayerStage(UUID playerUUID, int stage) {
         if (stage < 1) stage = 1;
         if (stage > 5) stage = 5;
-        playerStages.put(playerUUID, stage);
-        setDirty();
-        SkysCobblemonCosmetics.LOGGER.info("Player {} hunt stage set to {}", playerUUID, stage);
+        byte previous = playerStages.getByte(playerUUID);
+        if (previous != stage) {
+            long now = HuntClock.get().wallMillis();
+            putStage(playerUUID, (byte) stage, now);
+            timeline.record(playerUUID, previous, stage, HuntClock.get().ticks(), now);
+            stagesVersion++;
+        }
+        markPlayerDirty(playerUUID);
+        SkysCobblemonCosmetics.LOGGER.debug("Player {} hunt stage set to {}", playerUUID, stage);
     }
 
     /**
      * Gets all player stages for debugging/admin purposes.
+     * Like {@link #getPlayersInRace}, this is an immutable snapshot that is only rebuilt after a stage changes.
      */
     public Map<UUID, Integer> getAllPlayerStages() {
-        return new HashMap<>(playerStages);
+        if (stagesViewVersion != stagesVersion) {
+            Map<UUID, Integer> stages = new HashMap<>(playerStages.size());
+            for (Object2ByteMap.Entry<UUID> entry : playerStages.object2ByteEntrySet()) {
+                stages.put(entry.getKey(), (int) entry.getByteValue());
+            }
+            stagesView = Map.copyOf(stages);
+            stagesViewVersion = stagesVersion;
+        }
+        return stagesView;
+    }
+
+    /**
+     * Recent stage transitions, for funnel stats.
+     */
+    public StageTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Live standings ordered by stage, then by time the stage was reached.
+     */
+    public RaceLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    private void putStage(UUID playerUUID, byte stage, long reachedAtMillis) {
+        playerStages.put(playerUUID, stage);
+        stageReachedAt.put(playerUUID, reachedAtMillis);
+        leaderboard.update(playerUUID, stage, reachedAtMillis);
+    }
+
+    /**
+     * Changes whenever any player's stage changes.
+     */
+    public long getStagesVersion() {
+        return stagesVersion;
     }
 
     /**
      * Clears a player's stage progress.
      */
     public void clearPlayerStage(UUID playerUUID) {
-        if (playerStages.remove(playerUUID) != null) {
+        if (playerStages.removeByte(playerUUID) != NO_STAGE) {
+            stageReachedAt.removeLong(playerUUID);
+            leaderboard.remove(playerUUID);
+            stagesVersion++;
+            markPlayerDirty(playerUUID);
+        }
+    }
+
+    // === Sharded Storage ===
+
+    private void markPlayerDirty(UUID playerUUID) {
+        if (shards != null) {
+            shards.track(playerUUID);
+        }
+        setDirty();
+    }
+
+    /**
+     * Moves player records into bucket files under the given directory.
+     * A header from before sharding keeps its inline records, and all of them are written out on the next save.
+     */
+    private void attachShards(Path directory) {
+        shards = new RaceShardStore(directory);
+        timeline.setFile(directory.resolve("timeline.bin"));
+        if (playersSharded) {
+            shards.load(this);
+        } else if (hasAnyPlayerRecords()) {
+            forEachPlayerRecord(shards::track);
             setDirty();
         }
     }
 
+    public RaceShardStore getShardStore() {
+        return shards;
+    }
+
+    boolean hasPlayerRecord(UUID playerUUID) {
+        return playersInRace.contains(playerUUID) || cooldowns.contains(playerUUID) || playerStages.containsKey(playerUUID);
+    }
+
+    private boolean hasAnyPlayerRecords() {
+        return !playersInRace.isEmpty() || !cooldowns.isEmpty() || !playerStages.isEmpty();
+    }
+
+    /**
+     * Visits every player with any record. Players in several tables are visited more than once.
+     */
+    void forEachPlayerRecord(Consumer<UUID> action) {
+        playersInRace.forEach(action);
+        cooldowns.forEachPlayer(action);
+        playerStages.keySet().forEach(action);
+    }
+
+    /**
+     * Writes the given players' records in the same array layout as {@link #save}. Used for bucket files.
+     */
+    CompoundTag savePlayers(Collection<UUID> players) {
+        long now = HuntClock.get().wallMillis();
+        int inRace = 0;
+        int cooling = 0;
+        int stages = 0;
+        for (UUID uuid : players) {
+            if (playersInRace.contains(uuid)) inRace++;
+            if (cooldowns.isActive(uuid, now)) cooling++;
+            if (playerStages.containsKey(uuid)) stages++;
+        }
+
+        long[] playerMost = new long[inRace];
+        long[] playerLeast = new long[inRace];
+        long[] cooldownMost = new long[cooling];
+        long[] cooldownLeast = new long[cooling];
+        long[] cooldownEnds = new long[cooling];
+        long[] stageMost = new long[stages];
+        long[] stageLeast = new long[stages];
+        byte[] stageValues = new byte[stages];
+        long[] stageTimes = new long[stages];
+        int p = 0;
+        int c = 0;
+        int s = 0;
+        for (UUID uuid : players) {
+            if (playersInRace.contains(uuid)) {
+                playerMost[p] = uuid.getMostSignificantBits();
+                playerLeast[p] = uuid.getLeastSignificantBits();
+                p++;
+            }
+            if (cooldowns.isActive(uuid, now)) {
+                cooldownMost[c] = uuid.getMostSignificantBits();
+                cooldownLeast[c] = uuid.getLeastSignificantBits();
+                cooldownEnds[c] = cooldowns.getEnd(uuid);
+                c++;
+            }
+            byte stage = playerStages.getByte(uuid);
+            if (stage != NO_STAGE) {
+                stageMost[s] = uuid.getMostSignificantBits();
+                stageLeast[s] = uuid.getLeastSignificantBits();
+                stageValues[s] = stage;
+                stageTimes[s] = stageReachedAt.getLong(uuid);
+                s++;
+            }
+        }
+
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("format", SAVE_FORMAT);
+        tag.putLongArray("playerMost", playerMost);
+        tag.putLongArray("playerLeast", playerLeast);
+        tag.putLongArray("cooldownMost", cooldownMost);
+        tag.putLongArray("cooldownLeast", cooldownLeast);
+        tag.putLongArray("cooldownEnds", cooldownEnds);
+        tag.putLongArray("stageMost", stageMost);
+        tag.putLongArray("stageLeast", stageLeast);
+        tag.putByteArray("stages", stageValues);
+        tag.putLongArray("stageTimes", stageTimes);
+        return tag;
+    }
+
     // === Serialization ===
 
+    // Format 2 stores each table as parallel primitive arrays (UUID most/least bits plus values).
+    // Saves without a "format" entry use the original one-compound-per-record lists.
+    private static final int SAVE_FORMAT = 2;
+
     @Override
     public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        tag.putInt("format", SAVE_FORMAT);
         tag.putBoolean("raceStarted", raceStarted);
         tag.putBoolean("raceComplete", raceComplete);
         tag.putLong("raceStartTime", raceStartTime);
@@ -184,38 +403,84 @@ public class CrystalAscendancyManager extends SavedData {
             tag.putUUID("winner", winnerUUID);
         }
 
-        // Save players in race
-        ListTag playerList = new ListTag();
-        for (UUID uuid : playersInRace) {
-            CompoundTag playerTag = new CompoundTag();
-            playerTag.putUUID("uuid", uuid);
-            playerList.add(playerTag);
+        // Player records go to the bucket files when attached to a world
+        if (shards != null) {
+            tag.putBoolean("sharded", true);
+            return tag;
         }
-        tag.put("playersInRace", playerList);
 
-        // Save cooldowns
-        ListTag cooldownList = new ListTag();
-        for (Map.Entry<UUID, Long> entry : playerCooldowns.entrySet()) {
-            CompoundTag cooldownTag = new CompoundTag();
-            cooldownTag.putUUID("uuid", entry.getKey());
-            cooldownTag.putLong("endTime", entry.getValue());
-            cooldownList.add(cooldownTag);
+        // Save players in race
+        long[] playerMost = new long[playersInRace.size()];
+        long[] playerLeast = new long[playersInRace.size()];
+        int i = 0;
+        for (UUID uuid : playersInRace) {
+            playerMost[i] = uuid.getMostSignificantBits();
+            playerLeast[i] = uuid.getLeastSignificantBits();
+            i++;
         }
-        tag.put("cooldowns", cooldownList);
+        tag.putLongArray("playerMost", playerMost);
+        tag.putLongArray("playerLeast", playerLeast);
+
+        // Save cooldowns (only ones still running; ended ones may not have been swept yet)
+        LongArrayList cooldownMost = new LongArrayList(cooldowns.size());
+        LongArrayList cooldownLeast = new LongArrayList(cooldowns.size());
+        LongArrayList cooldownEnds = new LongArrayList(cooldowns.size());
+        cooldowns.forEachLive(HuntClock.get().wallMillis(), (uuid, end) -> {
+            cooldownMost.add(uuid.getMostSignificantBits());
+            cooldownLeast.add(uuid.getLeastSignificantBits());
+            cooldownEnds.add(end);
+        });
+        tag.putLongArray("cooldownMost", cooldownMost.toLongArray());
+        tag.putLongArray("cooldownLeast", cooldownLeast.toLongArray());
+        tag.putLongArray("cooldownEnds", cooldownEnds.toLongArray());
 
         // Save player stages
-        ListTag stageList = new ListTag();
-        for (Map.Entry<UUID, Integer> entry : playerStages.entrySet()) {
-            CompoundTag stageTag = new CompoundTag();
-            stageTag.putUUID("uuid", entry.getKey());
-            stageTag.putInt("stage", entry.getValue());
-            stageList.add(stageTag);
+        long[] stageMost = new long[playerStages.size()];
+        long[] stageLeast = new long[playerStages.size()];
+        byte[] stages = new byte[playerStages.size()];
+        long[] stageTimes = new long[playerStages.size()];
+        i = 0;
+        for (Object2ByteMap.Entry<UUID> entry : playerStages.object2ByteEntrySet()) {
+            stageMost[i] = entry.getKey().getMostSignificantBits();
+            stageLeast[i] = entry.getKey().getLeastSignificantBits();
+            stages[i] = entry.getByteValue();
+            stageTimes[i] = stageReachedAt.getLong(entry.getKey());
+            i++;
         }
-        tag.put("playerStages", stageList);
+        tag.putLongArray("stageMost", stageMost);
+        tag.putLongArray("stageLeast", stageLeast);
+        tag.putByteArray("stages", stages);
+        tag.putLongArray("stageTimes", stageTimes);
 
         return tag;
     }
 
+    @Override
+    public void save(File file, HolderLookup.Provider registries) {
+        if (shards != null && shards.collectFailedBuckets()) {
+            setDirty(); // A background bucket write failed since the last save, write it again
+        }
+        timeline.flush();
+        if (isDirty() && shards != null) {
+            shards.flush(this);
+            if (!playersSharded) {
+                // First save after migrating: the old header still holds every player record, so it is only
+                // replaced by a "sharded" one once all buckets are on disk. Later saves just queue the buckets,
+                // since the previous bucket files stay valid until each new one is renamed into place.
+                RaceSaveWriter.awaitIdle();
+                if (shards.collectFailedBuckets() || shards.hasDirtyBuckets()) {
+                    SkysCobblemonCosmetics.LOGGER.error("Crystal Ascendancy buckets could not be written, keeping the old save until the next attempt");
+                    return; // Still dirty, so the next save retries
+                }
+                playersSharded = true;
+            }
+        }
+        super.save(file, registries);
+        if (shards != null && shards.hasDirtyBuckets()) {
+            setDirty(); // Bucket directory couldn't be created, try again on the next save
+        }
+    }
+
     public static CrystalAscendancyManager load(CompoundTag tag, HolderLookup.Provider registries) {
         CrystalAscendancyManager manager = new CrystalAscendancyManager();
 
@@ -227,18 +492,65 @@ public class CrystalAscendancyManager extends SavedData {
             manager.winnerUUID = tag.getUUID("winner");
         }
 
+        manager.playersSharded = tag.getBoolean("sharded");
+        if (tag.getInt("format") >= SAVE_FORMAT) {
+            manager.loadArrays(tag);
+        } else {
+            manager.loadLegacyLists(tag);
+        }
+
+        return manager;
+    }
+
+    void loadArrays(CompoundTag tag) {
+        // Load players in race
+        long[] playerMost = tag.getLongArray("playerMost");
+        long[] playerLeast = tag.getLongArray("playerLeast");
+        int players = checkedLength("playersInRace", playerMost.length, playerLeast.length);
+        for (int i = 0; i < players; i++) {
+            playersInRace.add(new UUID(playerMost[i], playerLeast[i]));
+        }
+
+        // Load cooldowns
+        long[] cooldownMost = tag.getLongArray("cooldownMost");
+        long[] cooldownLeast = tag.getLongArray("cooldownLeast");
+        long[] cooldownEnds = tag.getLongArray("cooldownEnds");
+        int cooldownCount = checkedLength("cooldowns", cooldownMost.length, cooldownLeast.length, cooldownEnds.length);
+        for (int i = 0; i < cooldownCount; i++) {
+            cooldowns.set(new UUID(cooldownMost[i], cooldownLeast[i]), cooldownEnds[i]);
+        }
+
+        // Load player stages
+        long[] stageMost = tag.getLongArray("stageMost");
+        long[] stageLeast = tag.getLongArray("stageLeast");
+        byte[] stages = tag.getByteArray("stages");
+        long[] stageTimes = tag.getLongArray("stageTimes"); // Missing in saves from before the leaderboard
+        int stageCount = checkedLength("playerStages", stageMost.length, stageLeast.length, stages.length);
+        for (int i = 0; i < stageCount; i++) {
+            // Early leaderboard saves wrote 0 for unknown times; treat those as unknown too so they rank last
+            long reachedAt = i < stageTimes.length && stageTimes[i] != 0L ? stageTimes[i] : RaceLeaderboard.UNKNOWN_TIME;
+            putStage(new UUID(stageMost[i], stageLeast[i]), stages[i], reachedAt);
+        }
+        playersVersion++;
+        stagesVersion++;
+    }
+
+    /**
+     * Loads the original layout, where every record was its own compound with a "uuid" entry.
+     */
+    private void loadLegacyLists(CompoundTag tag) {
         // Load players in race
         ListTag playerList = tag.getList("playersInRace", Tag.TAG_COMPOUND);
         for (int i = 0; i < playerList.size(); i++) {
             CompoundTag playerTag = playerList.getCompound(i);
-            manager.playersInRace.add(playerTag.getUUID("uuid"));
+            playersInRace.add(playerTag.getUUID("uuid"));
         }
 
         // Load cooldowns
         ListTag cooldownList = tag.getList("cooldowns", Tag.TAG_COMPOUND);
         for (int i = 0; i < cooldownList.size(); i++) {
             CompoundTag cooldownTag = cooldownList.getCompound(i);
-            manager.playerCooldowns.put(
+            cooldowns.set(
                 cooldownTag.getUUID("uuid"),
                 cooldownTag.getLong("endTime")
             );
@@ -248,29 +560,62 @@ public class CrystalAscendancyManager extends SavedData {
         ListTag stageList = tag.getList("playerStages", Tag.TAG_COMPOUND);
         for (int i = 0; i < stageList.size(); i++) {
             CompoundTag stageTag = stageList.getCompound(i);
-            manager.playerStages.put(
+            putStage(
                 stageTag.getUUID("uuid"),
-                stageTag.getInt("stage")
+                (byte) stageTag.getInt("stage"),
+                RaceLeaderboard.UNKNOWN_TIME
             );
         }
+        playersVersion++;
+        stagesVersion++;
+    }
 
-        return manager;
+    /**
+     * Parallel arrays should always match; if a hand-edited file doesn't, keep the common prefix.
+     */
+    private static int checkedLength(String table, int... lengths) {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int length : lengths) {
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+        }
+        if (min != max) {
+            SkysCobblemonCosmetics.LOGGER.warn("Crystal Ascendancy save has mismatched {} arrays ({} vs {}), loading {} entries",
+                table, min, max, min);
+        }
+        return min;
+    }
+
+    // === Periodic Upkeep ===
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        long tick = HuntClock.get().ticks();
+        if (tick % HuntConfig.COOLDOWN_SWEEP_INTERVAL_TICKS == 0) {
+            CrystalAscendancyManager manager = get(event.getServer());
+            manager.expireCooldowns();
+            if (tick % HuntConfig.STAGE_TIMELINE_FLUSH_TICKS == 0 || manager.timeline.isFlushDue()) {
+                manager.timeline.flush();
+            }
+        }
     }
 
     // === Static Access ===
 
     public static CrystalAscendancyManager get(ServerLevel level) {
-        return level.getServer().overworld().getDataStorage().computeIfAbsent(
-            new SavedData.Factory<>(CrystalAscendancyManager::new, CrystalAscendancyManager::load),
-            DATA_NAME
-        );
+        return get(level.getServer());
     }
 
     public static CrystalAscendancyManager get(MinecraftServer server) {
-        return server.overworld().getDataStorage().computeIfAbsent(
+        CrystalAscendancyManager manager = server.overworld().getDataStorage().computeIfAbsent(
             new SavedData.Factory<>(CrystalAscendancyManager::new, CrystalAscendancyManager::load),
             DATA_NAME
         );
+        if (manager.shards == null) {
+            manager.attachShards(server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(DATA_NAME + "_players"));
+        }
+        return manager;
     }
 
     // === Utility ===
@@ -0,0 +1,215 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.items.ModItems;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthetic opponent-faint load for /hunt loadtest.
+ * Each chosen player gets a synthetic battle registered with {@link BattleHunterCache}. A producer thread
+ * submits faints in those battles at a target rate, the same way an off-thread battle engine would, and they
+ * go through the normal queue, hunter lookup, per-tick aggregation and orb progression.
+ * Reports achieved throughput, tick time against the pre-run baseline, and deferred or dropped events.
+ *
+ * Progress is applied to a scratch orb per player, never their real one. The scratch orb starts over
+ * whenever it fills, so every faint keeps doing full progression work for the whole run. Rune messages,
+ * sounds and the completion fanfare are skipped for these faints, so the target players notice nothing.
+ */
+@EventBusSubscriber
+public class FaintLoadGenerator {
+
+    private static final long SLICE_NANOS = 1_000_000L; // Producer wakes up once per millisecond
+
+    private static Run current = null;
+
+    private static class Run {
+        final CommandSourceStack source;
+        final List<UUID> battleIds; // One synthetic battle per target player
+
+        // Server thread only
+        final Map<UUID, ItemStack> scratchOrbs = new HashMap<>();
+        final int ratePerSecond;
+        final long durationNanos;
+
+        // Baselines of the queue counters when the run started
+        final long drainedBefore;
+        final long droppedBefore;
+        final long deferredBefore;
+        final double baselineTickMillis;
+
+        // Written by the producer thread, read on the server thread
+        volatile long submitted = 0;
+        volatile boolean finished = false;
+        volatile long startNanos;
+        volatile long endNanos;
+        Thread producer;
+
+        // Server thread only
+        double tickMillisTotal = 0;
+        double tickMillisMax = 0;
+        int tickSamples = 0;
+
+        Run(CommandSourceStack source, List<UUID> targets, int ratePerSecond, int seconds, double baselineTickMillis) {
+            this.source = source;
+            List<UUID> ids = new ArrayList<>(targets.size());
+            for (UUID target : targets) {
+                UUID battleId = UUID.randomUUID();
+                BattleHunterCache.trackSynthetic(battleId, target);
+                ids.add(battleId);
+                scratchOrbs.put(target, newScratchOrb());
+            }
+            this.battleIds = List.copyOf(ids);
+            this.ratePerSecond = ratePerSecond;
+            this.durationNanos = seconds * 1_000_000_000L;
+            this.drainedBefore = BattleEventQueue.getDrained();
+            this.droppedBefore = BattleEventQueue.getDropped();
+            this.deferredBefore = BattleEventQueue.getDeferredTicks();
+            this.baselineTickMillis = baselineTickMillis;
+        }
+
+        void produce() {
+            startNanos = System.nanoTime();
+            long deadline = startNanos + durationNanos;
+            double owed = 0;
+            int next = 0;
+            long count = 0;
+            long last = startNanos;
+
+            while (!finished) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                // Catch up on whatever the rate says we owe since the last slice
+                owed += (now - last) * (ratePerSecond / 1_000_000_000.0);
+                last = now;
+                while (owed >= 1.0) {
+                    BattleEventQueue.submitSynthetic(battleIds.get(next));
+                    next = (next + 1) % battleIds.size();
+                    owed -= 1.0;
+                    count++;
+                }
+                submitted = count;
+                LockSupport.parkNanos(SLICE_NANOS);
+            }
+            endNanos = System.nanoTime();
+            finished = true;
+        }
+    }
+
+    /**
+     * Starts a run. Returns false if one is already in progress.
+     */
+    public static boolean start(CommandSourceStack source, List<UUID> targets, int ratePerSecond, int seconds) {
+        if (current != null) {
+            return false;
+        }
+        double baseline = source.getServer().getAverageTickTimeNanos() / 1_000_000.0;
+        Run run = new Run(source, targets, ratePerSecond, seconds, baseline);
+        run.producer = new Thread(run::produce, "Hunt faint load generator");
+        run.producer.setDaemon(true);
+        current = run;
+        run.producer.start();
+        return true;
+    }
+
+    /**
+     * Stops the current run early. The report is sent on the next tick.
+     */
+    public static boolean stop() {
+        if (current == null) {
+            return false;
+        }
+        current.finished = true;
+        return true;
+    }
+
+    public static boolean isRunning() {
+        return current != null;
+    }
+
+    /**
+     * Returns the scratch orb load-test faints for this player are applied to, or null if no run targets them.
+     * A filled scratch orb is emptied first so progression never stops at FINAL.
+     */
+    static ItemStack getScratchOrb(UUID playerId) {
+        Run run = current;
+        ItemStack scratch = run != null ? run.scratchOrbs.get(playerId) : null;
+        if (scratch != null && MysteriousOrbItem.getOrbState(scratch) == HuntDataComponents.OrbState.FINAL) {
+            MysteriousOrbItem.setOrbData(scratch, OrbData.EMPTY);
+        }
+        return scratch;
+    }
+
+    private static ItemStack newScratchOrb() {
+        ItemStack scratch = new ItemStack(ModItems.MYSTERIOUS_ORB.get());
+        MysteriousOrbItem.setOrbData(scratch, OrbData.EMPTY);
+        return scratch;
+    }
+
+    private static void finish(Run run) {
+        // Faints still queued for these battles are ignored once they are gone
+        for (UUID battleId : run.battleIds) {
+            BattleHunterCache.untrack(battleId);
+        }
+        current = null;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        Run run = current;
+        if (run == null) {
+            return;
+        }
+
+        double tickMillis = event.getServer().getAverageTickTimeNanos() / 1_000_000.0;
+        run.tickMillisTotal += tickMillis;
+        run.tickMillisMax = Math.max(run.tickMillisMax, tickMillis);
+        run.tickSamples++;
+
+        if (run.finished && !run.producer.isAlive()) {
+            finish(run);
+            report(run);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        if (current != null) {
+            current.finished = true;
+            finish(current);
+        }
+    }
+
+    private static void report(Run run) {
+        double seconds = Math.max(1, run.endNanos - run.startNanos) / 1_000_000_000.0;
+        long submitted = run.submitted;
+        long dropped = BattleEventQueue.getDropped() - run.droppedBefore;
+        long handled = BattleEventQueue.getDrained() - run.drainedBefore;
+        long deferredTicks = BattleEventQueue.getDeferredTicks() - run.deferredBefore;
+        double averageTick = run.tickSamples == 0 ? 0.0 : run.tickMillisTotal / run.tickSamples;
+
+        run.source.sendSuccess(() -> Component.literal("Faint load test finished:").withStyle(ChatFormatting.GOLD), true);
+        run.source.sendSuccess(() -> Component.literal(String.format("  Submitted: %d in %.1fs (%.0f/s, target %d/s)",
+            submitted, seconds, submitted / seconds, run.ratePerSecond)).withStyle(ChatFormatting.YELLOW), false);
+        run.source.sendSuccess(() -> Component.literal(String.format("  Handled: %d, still queued: %d, dropped: %d, deferred ticks: %d",
+            handled, BattleEventQueue.getQueuedCount(), dropped, deferredTicks)).withStyle(ChatFormatting.YELLOW), false);
+        run.source.sendSuccess(() -> Component.literal(String.format("  Tick time: %.2f ms avg, %.2f ms max (baseline %.2f ms)",
+            averageTick, run.tickMillisMax, run.baselineTickMillis)).withStyle(ChatFormatting.YELLOW), false);
+        run.source.sendSuccess(() -> Component.literal(String.format("  Queue latency: %.2f ms avg, %.2f ms max",
+            BattleEventQueue.getAverageLatencyMillis(), BattleEventQueue.getMaxLatencyMillis())).withStyle(ChatFormatting.YELLOW), false);
+    }
+}
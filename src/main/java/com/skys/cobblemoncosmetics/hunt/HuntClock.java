@@ -0,0 +1,116 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+/**
+ * Game clock for all hunt timing.
+ * Throttles and in-game cooldowns use server ticks so they stay in step with the game under lag.
+ * Wall-clock time is only exposed for cooldowns that are persisted and must survive restarts.
+ * The tick count starts over for every server, so a second single-player world begins at tick 0.
+ *
+ * Tests and simulations can install a {@link Manual} clock to replay ticks without sleeping.
+ */
+@EventBusSubscriber
+public class HuntClock {
+
+    public static final int TICKS_PER_SECOND = 20;
+
+    private static HuntClock current = new HuntClock();
+
+    private long ticks = 0;
+
+    protected HuntClock() {
+    }
+
+    // === Static Access ===
+
+    public static HuntClock get() {
+        return current;
+    }
+
+    /**
+     * Replaces the active clock (tests and simulations only).
+     */
+    public static void install(HuntClock clock) {
+        current = clock;
+    }
+
+    public static long millisToTicks(long millis) {
+        return millis * TICKS_PER_SECOND / 1000;
+    }
+
+    // === Time Sources ===
+
+    /**
+     * Server ticks elapsed since this clock started. Use for throttles and in-game cooldowns.
+     */
+    public long ticks() {
+        return ticks;
+    }
+
+    /**
+     * Wall-clock time in milliseconds. Only for persisted cooldowns and timestamps.
+     */
+    public long wallMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected void advance() {
+        ticks++;
+    }
+
+    protected void reset() {
+        ticks = 0;
+    }
+
+    @SubscribeEvent
+    public static void onServerStarting(ServerStartingEvent event) {
+        current.reset();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Pre event) {
+        current.advance();
+    }
+
+    /**
+     * Clock that only moves when told to. Server ticks are ignored.
+     */
+    public static class Manual extends HuntClock {
+        private long manualTicks = 0;
+        private long manualMillis = 0;
+
+        @Override
+        public long ticks() {
+            return manualTicks;
+        }
+
+        @Override
+        public long wallMillis() {
+            return manualMillis;
+        }
+
+        @Override
+        protected void advance() {
+        }
+
+        @Override
+        protected void reset() {
+        }
+
+        /**
+         * Advances both tick and wall time, as if the server ran at a steady 20 TPS.
+         */
+        public void advanceTicks(long count) {
+            manualTicks += count;
+            manualMillis += count * 1000 / TICKS_PER_SECOND;
+        }
+
+        public void setWallMillis(long millis) {
+            manualMillis = millis;
+        }
+    }
+}
@@ -8,6 +8,7 @@ public class HuntConfig {
     public static final int KILLS_PER_RUNE = 1;          // Pokemon defeats needed to reveal 1 rune
     public static final int TOTAL_RUNES = 18;            // Total runes to unscramble (xxxx yy zzzz - Awaken me)
     public static final long FAILURE_COOLDOWN_MS = 5 * 60 * 60 * 1000; // 5 hours
+    public static final int COOLDOWN_SWEEP_INTERVAL_TICKS = 20;  // How often ended cooldowns are removed
 
     // Rune thresholds for orb state changes (based on message structure)
     // Left side: "xxxx yy zzzz" = 10 runes (coordinates)
@@ -20,13 +21,39 @@ public class HuntConfig {
     public static final int STAR_BEEP_RANGE = 45;        // Degrees from correct direction for audio cue (increased from 30)
     public static final int STAR_CLOSE_RANGE = 20;       // Degrees for "close" feedback (yellow) - more lenient
     public static final int STAR_EXACT_RANGE = 10;       // Degrees for "exact" feedback (green) - more lenient
+    public static final float[] STAR_TARGET_YAWS = {45.0f, 135.0f, 225.0f, 315.0f}; // Target yaw per X digit: NE, SE, SW, NW
+    public static final float STAR_TARGET_PITCH = -60.0f; // Looking up at 60 degrees
 
     // Coordinate puzzle - Origin puzzle (Z coordinate)
     public static final int ORIGIN_HUM_RANGE = 100;      // Blocks from world origin for "soft" hum
     public static final int ORIGIN_HUM_MEDIUM = 50;      // Blocks from world origin for "loud" hum
     public static final int ORIGIN_HUM_CLOSE = 25;       // Blocks from world origin for "even louder" hum
+    public static final int[] ORIGIN_HUM_BANDS = {ORIGIN_HUM_RANGE, ORIGIN_HUM_MEDIUM, ORIGIN_HUM_CLOSE}; // Hum rings, largest first
+    public static final int ORIGIN_X = 0;                // Origin puzzle target, in any dimension
+    public static final int ORIGIN_Y = 0;
+    public static final int ORIGIN_Z = 0;
     // Note: Origin exact detection requires standing exactly at 0,0 (X and Z both 0)
 
+    // Coordinate puzzle - Scheduling
+    public static final int PUZZLE_EVAL_PERIOD_TICKS = 5;     // Each hunter is evaluated once per this many ticks
+    public static final int PUZZLE_MAX_EVALS_PER_TICK = 64;   // Evaluations per tick before the rest are deferred
+    public static final int ACTION_BAR_REFRESH_TICKS = 35;    // Resend unchanged action bar text before the client fades it (60 ticks)
+    public static final int ORB_WRITE_FLUSH_TICKS = 10;       // How often buffered orb component writes are applied
+
+    // Battle events
+    public static final int BATTLE_EVENT_QUEUE_CAPACITY = 65536;  // Queued battle events before new ones are dropped
+    public static final int BATTLE_EVENT_DRAIN_PER_TICK = 8192;   // Battle events handled per tick before the rest wait a tick
+    public static final int BATTLE_PRUNE_INTERVAL_TICKS = 1200;   // How often battles that ended without an end event are dropped
+    public static final boolean DEBUG_THREAD_CHECKS = Boolean.getBoolean("skyscobblemonitems.debugThreads"); // -D flag, fails fast on off-thread access
+
+    // Race saves
+    public static final boolean RACE_ASYNC_SAVE = !Boolean.getBoolean("skyscobblemonitems.syncRaceSave"); // -D flag, writes race buckets during the world save instead
+    public static final int RACE_SAVE_MAX_IN_FLIGHT = 4;           // Background race saves queued before the server waits for the writer
+    public static final int STAGE_TIMELINE_CAPACITY = 16384;       // Stage transitions kept in memory for /hunt funnel
+    public static final int STAGE_TIMELINE_FLUSH_TICKS = 6000;     // How often new transitions are appended to disk (5 minutes)
+    public static final int STAGE_TIMELINE_FILE_MAX_RECORDS = 262144; // Transitions on disk before the file is compacted (~9 MB)
+    public static final int STAGE_TIMELINE_FILE_KEEP_RECORDS = 131072; // Newest transitions kept by a compaction
+
     // === Hunt Location Coordinates ===
 
     // Cove - The final destination of the hunt
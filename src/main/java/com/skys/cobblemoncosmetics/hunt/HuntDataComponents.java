@@ -16,51 +16,69 @@ public class HuntDataComponents {
     public static final DeferredRegister.DataComponents DATA_COMPONENTS =
         DeferredRegister.createDataComponents(SkysCobblemonCosmetics.MOD_ID);
 
+    // Tablet state: false=faded, true=glowing (after glow ink applied)
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Boolean>> TABLET_GLOWING =
+        DATA_COMPONENTS.registerComponentType("tablet_glowing", builder ->
+            builder.persistent(Codec.BOOL).networkSynchronized(ByteBufCodecs.BOOL));
+
+    // All orb state in one packed record (replaces the legacy per-field orb components below)
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<OrbData>> ORB_DATA =
+        DATA_COMPONENTS.registerComponentType("orb_data", builder ->
+            builder.persistent(OrbData.CODEC).networkSynchronized(OrbData.STREAM_CODEC));
+
+    // === Legacy orb components ===
+    // Still registered so orbs saved by older versions load; migrated into ORB_DATA
+    // by MysteriousOrbItem and never written.
+
     // Orb state: 0=EMPTY, 1=STAGE_1, 2=HALF, 3=FINAL (filled)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_STATE =
         DATA_COMPONENTS.registerComponentType("orb_state", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
     // Pokemon defeated count (for tracking progress toward next rune)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_KILL_COUNT =
         DATA_COMPONENTS.registerComponentType("orb_kill_count", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
     // Bitmask of revealed runes (which rune positions are unscrambled)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_REVEALED_RUNES =
         DATA_COMPONENTS.registerComponentType("orb_revealed_runes", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
-    // Tablet state: false=faded, true=glowing (after glow ink applied)
-    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Boolean>> TABLET_GLOWING =
-        DATA_COMPONENTS.registerComponentType("tablet_glowing", builder ->
-            builder.persistent(Codec.BOOL).networkSynchronized(ByteBufCodecs.BOOL));
-
     // Bitmask for revealed X coordinate digits (bits 0-3 for positions 0-3)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_X_DIGITS =
         DATA_COMPONENTS.registerComponentType("orb_x_digits", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
     // Bitmask for revealed Y coordinate digits (bits 0-1 for positions 0-1)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_Y_DIGITS =
         DATA_COMPONENTS.registerComponentType("orb_y_digits", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
     // Bitmask for revealed Z coordinate digits (bits 0-3 for positions 0-3)
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_Z_DIGITS =
         DATA_COMPONENTS.registerComponentType("orb_z_digits", builder ->
             builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
 
     // Custom hidden tag for Y coordinate hint (poem-fitting concealment)
     // Format: "depth_of_fathoms" - a hidden reference the player must decode
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<String>> ORB_FATHOM_MARK =
         DATA_COMPONENTS.registerComponentType("fathom_mark", builder ->
             builder.persistent(Codec.STRING).networkSynchronized(ByteBufCodecs.STRING_UTF8));
 
     // Current proximity state for origin puzzle (0=none, 1=far, 2=medium, 3=close, 4=exact)
+    // No longer written or synced: the tooltip computes it client side (OrbProximityClient).
+    // Still registered with a codec so old saved orbs load; OrbData.removeLegacy strips it on the next write
+    @Deprecated
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<Integer>> ORB_PROXIMITY =
-        DATA_COMPONENTS.registerComponentType("orb_proximity", builder ->
-            builder.persistent(Codec.INT).networkSynchronized(ByteBufCodecs.INT));
+        DATA_COMPONENTS.registerComponentType("orb_proximity", builder -> builder.persistent(Codec.INT));
 
     // Orb states enum for clarity
     public enum OrbState {
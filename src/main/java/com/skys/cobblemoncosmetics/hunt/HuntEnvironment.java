@@ -0,0 +1,68 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only snapshot of a level's time-of-day state for the hunt.
+ * Built at most once per level per server tick and shared by every puzzle evaluation in that tick,
+ * so all hunters see the same view and the level is only queried once.
+ *
+ * @param dimension level the snapshot was taken from
+ * @param tick      HuntClock tick the snapshot was taken on
+ * @param dayTime   time of day (0-23999)
+ * @param night     true between NIGHT_START and NIGHT_END
+ * @param moonPhase moon phase (0=full, 4=new)
+ * @param starDigit X digit the star puzzle targets tonight (moonPhase / 2)
+ */
+@EventBusSubscriber
+public record HuntEnvironment(ResourceKey<Level> dimension, long tick, long dayTime, boolean night,
+                              int moonPhase, int starDigit) {
+
+    public static final int NIGHT_START = 13000;
+    public static final int NIGHT_END = 23000;
+
+    private static final Map<ResourceKey<Level>, HuntEnvironment> snapshots = new HashMap<>();
+
+    /**
+     * Current snapshot for a level, built on the first request each tick.
+     */
+    public static HuntEnvironment of(ServerLevel level) {
+        long tick = HuntClock.get().ticks();
+        HuntEnvironment snapshot = snapshots.get(level.dimension());
+        if (snapshot == null || snapshot.tick != tick) {
+            snapshot = capture(level.dimension(), tick, level.getDayTime(), level.getMoonPhase());
+            snapshots.put(level.dimension(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Builds a snapshot from raw values (also used by simulations without a level).
+     */
+    public static HuntEnvironment capture(ResourceKey<Level> dimension, long tick, long levelDayTime, int moonPhase) {
+        long dayTime = levelDayTime % 24000;
+        boolean night = dayTime >= NIGHT_START && dayTime <= NIGHT_END;
+        return new HuntEnvironment(dimension, tick, dayTime, night, moonPhase, moonPhase / 2);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            snapshots.remove(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        snapshots.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+/**
+ * Thread-affinity checks for hunt state that must only be touched on the server thread.
+ * Checks are free unless the server is started with -Dskyscobblemonitems.debugThreads=true.
+ */
+@EventBusSubscriber
+public class HuntThreads {
+
+    private static volatile Thread serverThread = null;
+
+    /**
+     * Throws if called from a thread other than the server thread (debug mode only).
+     *
+     * @param what short description of the caller for the error message
+     */
+    public static void assertServerThread(String what) {
+        if (HuntConfig.DEBUG_THREAD_CHECKS) {
+            Thread expected = serverThread;
+            if (expected != null && Thread.currentThread() != expected) {
+                throw new IllegalStateException(what + " called from " + Thread.currentThread().getName()
+                    + ", expected server thread " + expected.getName());
+            }
+        }
+    }
+
+    public static boolean isServerThread() {
+        return Thread.currentThread() == serverThread;
+    }
+
+    @SubscribeEvent
+    public static void onServerAboutToStart(ServerAboutToStartEvent event) {
+        serverThread = event.getServer().getRunningThread();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        serverThread = null;
+    }
+}
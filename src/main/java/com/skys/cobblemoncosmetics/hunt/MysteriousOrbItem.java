@@ -5,9 +5,11 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.level.Level;
 
 import java.util.List;
 import java.util.Random;
@@ -57,7 +59,7 @@ public class MysteriousOrbItem extends Item {
     private Component createGlitchyName() {
         String baseName = "Mysterious Orb";
         StringBuilder result = new StringBuilder();
-        Random rand = new Random(System.currentTimeMillis() / 100); // Changes every 100ms
+        Random rand = new Random(HuntClock.get().wallMillis() / 100); // Changes every 100ms
 
         for (char c : baseName.toCharArray()) {
             if (c == ' ') {
@@ -75,9 +77,8 @@ public class MysteriousOrbItem extends Item {
 
     @Override
     public void appendHoverText(ItemStack stack, TooltipContext context, List<Component> tooltipComponents, TooltipFlag tooltipFlag) {
-        OrbState state = getOrbState(stack);
-        int revealedRunes = getRevealedRunes(stack);
-        int proximity = getProximity(stack);
+        OrbData data = getOrbData(stack);
+        OrbState state = data.state();
 
         // Add description based on state
         switch (state) {
@@ -87,13 +88,13 @@ public class MysteriousOrbItem extends Item {
                 tooltipComponents.add(
                     Component.literal(HuntConfig.DESC_FILLING).withStyle(ChatFormatting.DARK_PURPLE, ChatFormatting.ITALIC));
                 tooltipComponents.add(Component.empty());
-                tooltipComponents.add(createRuneDisplay(stack, revealedRunes, proximity));
+                tooltipComponents.add(createRuneDisplay(data));
             }
             case FINAL -> {
                 tooltipComponents.add(
                     Component.literal(HuntConfig.DESC_FILLED).withStyle(ChatFormatting.GOLD, ChatFormatting.ITALIC));
                 tooltipComponents.add(Component.empty());
-                tooltipComponents.add(createRuneDisplay(stack, revealedRunes, proximity));
+                tooltipComponents.add(createRuneDisplay(data));
             }
         }
 
@@ -102,8 +103,8 @@ public class MysteriousOrbItem extends Item {
         // But we hide the Y value (-12) as "fathom_mark"
         if (tooltipFlag.isAdvanced() && state == OrbState.FINAL) {
             tooltipComponents.add(Component.empty());
-            String fathomMark = getFathomMark(stack);
-            if (fathomMark != null && !fathomMark.isEmpty()) {
+            String fathomMark = data.fathomMark();
+            if (!fathomMark.isEmpty()) {
                 tooltipComponents.add(Component.literal("fathom_mark: " + fathomMark).withStyle(ChatFormatting.DARK_GRAY));
             }
         }
@@ -119,13 +120,15 @@ public class MysteriousOrbItem extends Item {
      * - Found (star puzzle): Green with correct digit
      * - Origin proximity: Red (far) -> Orange (medium) -> Yellow (close) -> Green (exact)
      */
-    private Component createRuneDisplay(ItemStack stack, int revealedCount, int proximity) {
+    private Component createRuneDisplay(OrbData data) {
         MutableComponent display = Component.empty();
-        Random rand = new Random(System.currentTimeMillis() / 150); // Shift every 150ms
+        Random rand = new Random(HuntClock.get().wallMillis() / 150); // Shift every 150ms
 
-        int xDigits = getXDigits(stack);
-        int yDigits = getYDigits(stack);
-        int zDigits = getZDigits(stack);
+        int xDigits = data.xDigits();
+        int yDigits = data.yDigits();
+        int zDigits = data.zDigits();
+        // Only the active (filled) orb reacts to the origin
+        int proximity = data.state() == OrbState.FINAL ? OrbClientHooks.originProximity() : 0;
 
         // Build X coordinate section (4 digits)
         for (int i = 0; i < 4; i++) {
@@ -148,7 +151,7 @@ public class MysteriousOrbItem extends Item {
         display.append(Component.literal(" - ").withStyle(ChatFormatting.LIGHT_PURPLE));
 
         // Add "Awaken me" in light purple (always shown when orb is filling/filled)
-        if (revealedCount > 0) {
+        if (data.revealedRunes() > 0) {
             display.append(Component.literal(AWAKEN_ME_RUNES).withStyle(ChatFormatting.LIGHT_PURPLE));
         } else {
             // Scrambled if no runes revealed yet
@@ -243,42 +246,65 @@ public class MysteriousOrbItem extends Item {
         return getOrbState(stack) == OrbState.FINAL;
     }
 
+    @Override
+    public void inventoryTick(ItemStack stack, Level level, Entity entity, int slotId, boolean isSelected) {
+        // Move orbs saved with the legacy per-field components over to ORB_DATA
+        if (!level.isClientSide && !stack.has(HuntDataComponents.ORB_DATA.get())) {
+            setOrbData(stack, OrbData.fromLegacy(stack));
+        }
+    }
+
     // === Helper methods for data component access ===
 
-    public static OrbState getOrbState(ItemStack stack) {
-        Integer stateValue = stack.get(HuntDataComponents.ORB_STATE.get());
-        return OrbState.fromValue(stateValue != null ? stateValue : 0);
+    /**
+     * Returns the orb's data. Orbs that haven't been migrated yet are read from the legacy components.
+     */
+    public static OrbData getOrbData(ItemStack stack) {
+        OrbData data = stack.get(HuntDataComponents.ORB_DATA.get());
+        return data != null ? data : OrbData.fromLegacy(stack);
     }
 
-    public static void setOrbState(ItemStack stack, OrbState state) {
-        stack.set(HuntDataComponents.ORB_STATE.get(), state.getValue());
+    /**
+     * Stores the orb's data, dropping any legacy components it replaces.
+     * Any write still buffered for the stack is discarded so it can't overwrite this one on the next flush.
+     */
+    public static void setOrbData(ItemStack stack, OrbData data) {
+        OrbWriteBuffer.discard(stack);
+        storeOrbData(stack, data);
     }
 
-    public static int getKillCount(ItemStack stack) {
-        Integer count = stack.get(HuntDataComponents.ORB_KILL_COUNT.get());
-        return count != null ? count : 0;
+    /**
+     * Stores the orb's data without touching the write buffer. Used by the buffer itself when flushing.
+     */
+    static void storeOrbData(ItemStack stack, OrbData data) {
+        if (!stack.has(HuntDataComponents.ORB_DATA.get())) {
+            OrbData.removeLegacy(stack);
+        }
+        stack.set(HuntDataComponents.ORB_DATA.get(), data);
     }
 
-    public static void setKillCount(ItemStack stack, int count) {
-        stack.set(HuntDataComponents.ORB_KILL_COUNT.get(), count);
+    public static OrbState getOrbState(ItemStack stack) {
+        return getOrbData(stack).state();
     }
 
-    public static int getRevealedRunes(ItemStack stack) {
-        Integer revealed = stack.get(HuntDataComponents.ORB_REVEALED_RUNES.get());
-        return revealed != null ? revealed : 0;
+    public static void setOrbState(ItemStack stack, OrbState state) {
+        setOrbData(stack, getOrbData(stack).withState(state));
     }
 
-    public static void setRevealedRunes(ItemStack stack, int count) {
-        stack.set(HuntDataComponents.ORB_REVEALED_RUNES.get(), count);
+    public static int getKillCount(ItemStack stack) {
+        return getOrbData(stack).killCount();
+    }
+
+    public static int getRevealedRunes(ItemStack stack) {
+        return getOrbData(stack).revealedRunes();
     }
 
     public static int getXDigits(ItemStack stack) {
-        Integer digits = stack.get(HuntDataComponents.ORB_X_DIGITS.get());
-        return digits != null ? digits : 0;
+        return getOrbData(stack).xDigits();
     }
 
     public static void setXDigits(ItemStack stack, int mask) {
-        stack.set(HuntDataComponents.ORB_X_DIGITS.get(), mask);
+        setOrbData(stack, getOrbData(stack).withXDigits(mask));
     }
 
     /**
@@ -287,19 +313,14 @@ public class MysteriousOrbItem extends Item {
      * @param exact If true, marks as fully revealed (green). If false, marks as close (yellow).
      */
     public static void revealXDigit(ItemStack stack, int position, boolean exact) {
-        int current = getXDigits(stack);
-        if (exact) {
-            // Set the revealed bit (lower nibble)
-            current |= (1 << position);
-            // Clear the close bit (upper nibble)
-            current &= ~(1 << (position + 4));
-        } else {
-            // Set the close bit (upper nibble) if not already revealed
-            if ((current & (1 << position)) == 0) {
-                current |= (1 << (position + 4));
-            }
-        }
-        setXDigits(stack, current);
+        setXDigits(stack, withXDigitRevealed(getXDigits(stack), position, exact));
+    }
+
+    /**
+     * Returns the X digit mask with a position marked as revealed (exact) or close.
+     */
+    public static int withXDigitRevealed(int mask, int position, boolean exact) {
+        return CoordinatePuzzleRules.withXDigitRevealed(mask, position, exact);
     }
 
     public static boolean isXDigitRevealed(ItemStack stack, int position) {
@@ -307,27 +328,20 @@ public class MysteriousOrbItem extends Item {
     }
 
     public static int getYDigits(ItemStack stack) {
-        Integer digits = stack.get(HuntDataComponents.ORB_Y_DIGITS.get());
-        return digits != null ? digits : 0;
-    }
-
-    public static void setYDigits(ItemStack stack, int mask) {
-        stack.set(HuntDataComponents.ORB_Y_DIGITS.get(), mask);
+        return getOrbData(stack).yDigits();
     }
 
     public static void revealYDigit(ItemStack stack, int position) {
-        int current = getYDigits(stack);
-        current |= (1 << position);
-        setYDigits(stack, current);
+        OrbData data = getOrbData(stack);
+        setOrbData(stack, data.withYDigits(data.yDigits() | (1 << position)));
     }
 
     public static int getZDigits(ItemStack stack) {
-        Integer digits = stack.get(HuntDataComponents.ORB_Z_DIGITS.get());
-        return digits != null ? digits : 0;
+        return getOrbData(stack).zDigits();
     }
 
     public static void setZDigits(ItemStack stack, int mask) {
-        stack.set(HuntDataComponents.ORB_Z_DIGITS.get(), mask);
+        setOrbData(stack, getOrbData(stack).withZDigits(mask));
     }
 
     public static void revealAllZDigits(ItemStack stack) {
@@ -335,21 +349,12 @@ public class MysteriousOrbItem extends Item {
         setZDigits(stack, 0b1111);
     }
 
-    public static int getProximity(ItemStack stack) {
-        Integer prox = stack.get(HuntDataComponents.ORB_PROXIMITY.get());
-        return prox != null ? prox : 0;
-    }
-
-    public static void setProximity(ItemStack stack, int proximity) {
-        stack.set(HuntDataComponents.ORB_PROXIMITY.get(), proximity);
-    }
-
     public static String getFathomMark(ItemStack stack) {
-        return stack.get(HuntDataComponents.ORB_FATHOM_MARK.get());
+        return getOrbData(stack).fathomMark();
     }
 
     public static void setFathomMark(ItemStack stack, String mark) {
-        stack.set(HuntDataComponents.ORB_FATHOM_MARK.get(), mark);
+        setOrbData(stack, getOrbData(stack).withFathomMark(mark));
     }
 
     /**
@@ -359,51 +364,35 @@ public class MysteriousOrbItem extends Item {
      * @return true if a new rune was revealed
      */
     public static boolean onPokemonDefeated(ItemStack stack) {
-        if (getOrbState(stack) == OrbState.FINAL) {
+        OrbData data = getOrbData(stack);
+        if (data.state() == OrbState.FINAL) {
             return false; // Already complete
         }
 
-        int kills = getKillCount(stack) + 1;
-        setKillCount(stack, kills);
+        int kills = data.killCount() + 1;
 
         // Check if we should reveal a new rune
-        int currentRunes = getRevealedRunes(stack);
+        int currentRunes = data.revealedRunes();
         int expectedRunes = kills / HuntConfig.KILLS_PER_RUNE;
 
         if (expectedRunes > currentRunes && currentRunes < HuntConfig.TOTAL_RUNES) {
             int newRuneCount = Math.min(expectedRunes, HuntConfig.TOTAL_RUNES);
-            setRevealedRunes(stack, newRuneCount);
 
             // Update orb state based on rune count
-            updateOrbState(stack, newRuneCount);
+            data = data.withProgress(OrbProgress.stateForRunes(newRuneCount), kills, newRuneCount);
 
             // When orb becomes FINAL, set the fathom mark (hidden Y coordinate hint)
             if (newRuneCount >= HuntConfig.RUNES_FOR_FINAL) {
                 // The Y coordinate is -12, stored as a cryptic reference
                 // "fathom_mark: II below" (II = 12 in Roman-ish, "below" hints negative)
-                setFathomMark(stack, "II below");
+                data = data.withFathomMark("II below");
             }
 
+            setOrbData(stack, data);
             return true;
         }
 
+        setOrbData(stack, data.withProgress(data.state(), kills, currentRunes));
         return false;
     }
-
-    /**
-     * Updates the orb's visual state based on revealed rune count
-     */
-    private static void updateOrbState(ItemStack stack, int runeCount) {
-        OrbState newState;
-        if (runeCount >= HuntConfig.RUNES_FOR_FINAL) {
-            newState = OrbState.FINAL;
-        } else if (runeCount >= HuntConfig.RUNES_FOR_HALF) {
-            newState = OrbState.HALF;
-        } else if (runeCount >= HuntConfig.RUNES_FOR_STAGE_1) {
-            newState = OrbState.STAGE_1;
-        } else {
-            newState = OrbState.EMPTY;
-        }
-        setOrbState(stack, newState);
-    }
 }
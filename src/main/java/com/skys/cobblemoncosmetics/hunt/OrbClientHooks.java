@@ -0,0 +1,25 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Client-only values needed by common hunt code (e.g. the orb tooltip), without common code
+ * referencing client classes. The client installs the real suppliers from
+ * SkysCobblemonCosmeticsClient; on a dedicated server the defaults stay in place.
+ */
+public final class OrbClientHooks {
+
+    // Origin proximity of the local player (0=none .. 4=exact), see render.OrbProximityClient
+    private static volatile IntSupplier originProximity = () -> 0;
+
+    private OrbClientHooks() {
+    }
+
+    public static void setOriginProximity(IntSupplier supplier) {
+        originProximity = supplier;
+    }
+
+    public static int originProximity() {
+        return originProximity.getAsInt();
+    }
+}
@@ -0,0 +1,136 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.skys.cobblemoncosmetics.hunt.HuntDataComponents.OrbState;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.Utf8String;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Everything the Mysterious Orb stores, as a single immutable data component.
+ * Replaces the per-field legacy components (see {@link #fromLegacy}), so a change is one allocation,
+ * one NBT entry and one sync entry instead of several boxed Integers.
+ *
+ * @param state         fill state
+ * @param killCount     opponent faints toward the next rune
+ * @param revealedRunes number of runes revealed
+ * @param xDigits       X digit mask: bits 0-3 revealed, bits 4-7 close
+ * @param yDigits       Y digit mask: bits 0-1 revealed
+ * @param zDigits       Z digit mask: bits 0-3 revealed
+ * @param fathomMark    hidden Y coordinate hint, empty if not set
+ */
+public record OrbData(OrbState state, int killCount, int revealedRunes,
+                      int xDigits, int yDigits, int zDigits, String fathomMark) {
+
+    public static final OrbData EMPTY = new OrbData(OrbState.EMPTY, 0, 0, 0, 0, 0, "");
+
+    // Saved with defaults omitted, so a fresh orb stores almost nothing
+    public static final Codec<OrbData> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Codec.INT.xmap(OrbState::fromValue, OrbState::getValue).optionalFieldOf("state", OrbState.EMPTY).forGetter(OrbData::state),
+        Codec.INT.optionalFieldOf("kill_count", 0).forGetter(OrbData::killCount),
+        Codec.INT.optionalFieldOf("revealed_runes", 0).forGetter(OrbData::revealedRunes),
+        Codec.INT.optionalFieldOf("x_digits", 0).forGetter(OrbData::xDigits),
+        Codec.INT.optionalFieldOf("y_digits", 0).forGetter(OrbData::yDigits),
+        Codec.INT.optionalFieldOf("z_digits", 0).forGetter(OrbData::zDigits),
+        Codec.STRING.optionalFieldOf("fathom_mark", "").forGetter(OrbData::fathomMark)
+    ).apply(instance, OrbData::new));
+
+    // Packed header layout: state 2 bits | x 8 | y 2 | z 4 | has fathom mark 1
+    private static final int X_SHIFT = 2;
+    private static final int Y_SHIFT = 10;
+    private static final int Z_SHIFT = 12;
+    private static final int FATHOM_BIT = 1 << 16;
+    private static final int MAX_FATHOM_LENGTH = 64;
+
+    /**
+     * Network form: one varint header holding the state and all masks, then the two counters as varints.
+     * A typical orb syncs in 3-5 bytes.
+     */
+    public static final StreamCodec<ByteBuf, OrbData> STREAM_CODEC = StreamCodec.of(OrbData::write, OrbData::read);
+
+    private static void write(ByteBuf buf, OrbData data) {
+        int header = data.state.getValue()
+            | (data.xDigits & 0xFF) << X_SHIFT
+            | (data.yDigits & 0b11) << Y_SHIFT
+            | (data.zDigits & 0b1111) << Z_SHIFT
+            | (data.fathomMark.isEmpty() ? 0 : FATHOM_BIT);
+        VarInt.write(buf, header);
+        VarInt.write(buf, data.killCount);
+        VarInt.write(buf, data.revealedRunes);
+        if (!data.fathomMark.isEmpty()) {
+            Utf8String.write(buf, data.fathomMark, MAX_FATHOM_LENGTH);
+        }
+    }
+
+    private static OrbData read(ByteBuf buf) {
+        int header = VarInt.read(buf);
+        int killCount = VarInt.read(buf);
+        int revealedRunes = VarInt.read(buf);
+        String fathomMark = (header & FATHOM_BIT) != 0 ? Utf8String.read(buf, MAX_FATHOM_LENGTH) : "";
+        return new OrbData(OrbState.fromValue(header & 0b11), killCount, revealedRunes,
+            header >>> X_SHIFT & 0xFF, header >>> Y_SHIFT & 0b11, header >>> Z_SHIFT & 0b1111, fathomMark);
+    }
+
+    // === Copies with one change ===
+
+    public OrbData withState(OrbState state) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits, fathomMark);
+    }
+
+    public OrbData withProgress(OrbState state, int killCount, int revealedRunes) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits, fathomMark);
+    }
+
+    public OrbData withXDigits(int xDigits) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits, fathomMark);
+    }
+
+    public OrbData withYDigits(int yDigits) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits, fathomMark);
+    }
+
+    public OrbData withZDigits(int zDigits) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits, fathomMark);
+    }
+
+    public OrbData withFathomMark(String fathomMark) {
+        return new OrbData(state, killCount, revealedRunes, xDigits, yDigits, zDigits,
+            fathomMark != null ? fathomMark : "");
+    }
+
+    // === Legacy migration ===
+
+    /**
+     * Builds orb data from the per-field components used before ORB_DATA existed (missing fields are 0).
+     */
+    @SuppressWarnings("deprecation")
+    public static OrbData fromLegacy(ItemStack stack) {
+        String fathomMark = stack.get(HuntDataComponents.ORB_FATHOM_MARK.get());
+        return new OrbData(
+            OrbState.fromValue(stack.getOrDefault(HuntDataComponents.ORB_STATE.get(), 0)),
+            stack.getOrDefault(HuntDataComponents.ORB_KILL_COUNT.get(), 0),
+            stack.getOrDefault(HuntDataComponents.ORB_REVEALED_RUNES.get(), 0),
+            stack.getOrDefault(HuntDataComponents.ORB_X_DIGITS.get(), 0),
+            stack.getOrDefault(HuntDataComponents.ORB_Y_DIGITS.get(), 0),
+            stack.getOrDefault(HuntDataComponents.ORB_Z_DIGITS.get(), 0),
+            fathomMark != null ? fathomMark : "");
+    }
+
+    /**
+     * Removes the legacy per-field components from a stack.
+     */
+    @SuppressWarnings("deprecation")
+    public static void removeLegacy(ItemStack stack) {
+        stack.remove(HuntDataComponents.ORB_STATE.get());
+        stack.remove(HuntDataComponents.ORB_KILL_COUNT.get());
+        stack.remove(HuntDataComponents.ORB_REVEALED_RUNES.get());
+        stack.remove(HuntDataComponents.ORB_X_DIGITS.get());
+        stack.remove(HuntDataComponents.ORB_Y_DIGITS.get());
+        stack.remove(HuntDataComponents.ORB_Z_DIGITS.get());
+        stack.remove(HuntDataComponents.ORB_PROXIMITY.get());
+        stack.remove(HuntDataComponents.ORB_FATHOM_MARK.get());
+    }
+}
@@ -0,0 +1,141 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.items.ModItems;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side registry of players currently holding a filled (FINAL) Mysterious Orb in either hand.
+ * Kept up to date by equipment, login/logout, respawn and dimension change events so the
+ * coordinate puzzles only need to look at active hunters instead of every online player.
+ */
+@EventBusSubscriber
+public class OrbHolderRegistry {
+
+    // Insertion ordered so puzzle evaluation order is stable between ticks
+    private static final Map<UUID, ServerPlayer> holders = new LinkedHashMap<>();
+    private static final Collection<ServerPlayer> holdersView = Collections.unmodifiableCollection(holders.values());
+
+    /**
+     * Players currently holding a FINAL orb. Read-only view, do not keep across ticks.
+     */
+    public static Collection<ServerPlayer> getHolders() {
+        return holdersView;
+    }
+
+    public static int getHolderCount() {
+        return holders.size();
+    }
+
+    public static boolean isHolder(UUID playerId) {
+        return holders.containsKey(playerId);
+    }
+
+    /**
+     * Returns the FINAL orb the player is holding (main hand first), or null if there is none.
+     */
+    public static ItemStack findHeldFinalOrb(ServerPlayer player) {
+        ItemStack mainHand = player.getMainHandItem();
+        if (isFinalOrb(mainHand)) {
+            return mainHand;
+        }
+        ItemStack offHand = player.getOffhandItem();
+        if (isFinalOrb(offHand)) {
+            return offHand;
+        }
+        return null;
+    }
+
+    /**
+     * Re-checks the player's hands and adds or removes them from the registry.
+     * The puzzle scheduler's slot buckets are kept in step with the registry.
+     */
+    public static void refresh(ServerPlayer player) {
+        if (findHeldFinalOrb(player) != null) {
+            ServerPlayer previous = holders.put(player.getUUID(), player);
+            if (previous != player) {
+                CoordinatePuzzleHandler.getScheduler().register(player);
+            }
+            if (previous == null) {
+                // Their orb just filled or came into hand: any battle's hunter list may be out of date
+                BattleHunterCache.invalidatePlayer(player.getUUID());
+            }
+        } else {
+            remove(player);
+        }
+    }
+
+    public static void remove(ServerPlayer player) {
+        if (holders.remove(player.getUUID()) != null) {
+            CoordinatePuzzleHandler.getScheduler().unregister(player.getUUID());
+            BattleHunterCache.invalidatePlayer(player.getUUID());
+        }
+    }
+
+    private static boolean isFinalOrb(ItemStack stack) {
+        return stack.is(ModItems.MYSTERIOUS_ORB.get())
+            && MysteriousOrbItem.getOrbState(stack) == HuntDataComponents.OrbState.FINAL;
+    }
+
+    // === Event hooks ===
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        // Fires for slot swaps, hotbar scrolling and component changes on the held stack
+        // (e.g. an orb becoming FINAL while in hand)
+        if (!(event.getEntity() instanceof ServerPlayer player)) {
+            return;
+        }
+        EquipmentSlot slot = event.getSlot();
+        if (slot == EquipmentSlot.MAINHAND || slot == EquipmentSlot.OFFHAND) {
+            refresh(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            refresh(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            remove(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        // Respawning creates a new ServerPlayer instance, so always replace the stored reference
+        if (event.getEntity() instanceof ServerPlayer player) {
+            remove(player);
+            refresh(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            refresh(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        holders.clear();
+    }
+}
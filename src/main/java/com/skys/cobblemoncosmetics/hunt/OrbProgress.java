@@ -0,0 +1,84 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.hunt.HuntDataComponents.OrbState;
+
+/**
+ * Orb progression math for opponent faints, kept free of item stacks so it can be reused
+ * by batching and by headless simulations. Reusable: call {@link #reset} before each use.
+ */
+public class OrbProgress {
+
+    private int killCount;
+    private int revealedRunes;
+    private OrbState state;
+    private OrbState initialState;
+    private int runesGained;
+
+    public OrbProgress reset(int killCount, int revealedRunes, OrbState state) {
+        this.killCount = killCount;
+        this.revealedRunes = revealedRunes;
+        this.state = state;
+        this.initialState = state;
+        this.runesGained = 0;
+        return this;
+    }
+
+    /**
+     * Applies opponent faints one at a time, exactly as if each had been handled on its own.
+     * Faints after the orb becomes FINAL are ignored.
+     *
+     * @return the number of faints that counted toward progress
+     */
+    public int applyKills(int kills) {
+        int applied = 0;
+        while (applied < kills && state != OrbState.FINAL) {
+            applied++;
+            killCount++;
+
+            // Check if we've reached enough kills for a new rune
+            if (killCount >= HuntConfig.KILLS_PER_RUNE) {
+                killCount = 0; // Reset kill counter
+                revealedRunes++;
+                runesGained++;
+
+                // Update orb state based on runes revealed
+                OrbState newState = stateForRunes(revealedRunes);
+                if (newState != state) {
+                    state = newState;
+                }
+            }
+        }
+        return applied;
+    }
+
+    public static OrbState stateForRunes(int revealedRunes) {
+        if (revealedRunes >= HuntConfig.RUNES_FOR_FINAL) {
+            return OrbState.FINAL;
+        } else if (revealedRunes >= HuntConfig.RUNES_FOR_HALF) {
+            return OrbState.HALF;
+        } else if (revealedRunes >= HuntConfig.RUNES_FOR_STAGE_1) {
+            return OrbState.STAGE_1;
+        }
+        return OrbState.EMPTY;
+    }
+
+    public int getKillCount() {
+        return killCount;
+    }
+
+    public int getRevealedRunes() {
+        return revealedRunes;
+    }
+
+    public OrbState getState() {
+        return state;
+    }
+
+    public int getRunesGained() {
+        return runesGained;
+    }
+
+    public boolean stateChanged() {
+        return state != initialState;
+    }
+}
@@ -0,0 +1,145 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.items.ModItems;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.item.ItemTossEvent;
+import net.neoforged.neoforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.neoforged.neoforge.event.entity.player.ItemEntityPickupEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.UUID;
+
+/**
+ * Remembers which inventory slot holds each player's Mysterious Orb, so battle faints
+ * don't have to scan the whole inventory every time.
+ *
+ * A cached slot is always re-checked before use (one getItem call), so a stale entry can only
+ * cost a rescan, never return the wrong stack. Inventory events drop entries early where we can see them.
+ * Players without an orb are not cached, since orbs can be added by commands without any event.
+ *
+ * Like a full scan, the result is always the first orb in the inventory: whenever the inventory's change
+ * counter has moved since the slot was cached, the slots before it are checked for an earlier orb.
+ */
+@EventBusSubscriber
+public class OrbSlotCache {
+
+    private static final int NO_SLOT = -1;
+
+    private static final Object2IntOpenHashMap<UUID> slots = new Object2IntOpenHashMap<>();
+    // Inventory change counter when each slot was last confirmed as the first orb
+    private static final Object2IntOpenHashMap<UUID> changeStamps = new Object2IntOpenHashMap<>();
+    static {
+        slots.defaultReturnValue(NO_SLOT);
+    }
+
+    // Lookups answered from the cache vs. ones that needed a full inventory scan (for /hunt perf)
+    private static long hits = 0;
+    private static long misses = 0;
+
+    /**
+     * Returns the first Mysterious Orb in the player's inventory, or null if they don't have one.
+     */
+    public static ItemStack findOrb(ServerPlayer player) {
+        HuntThreads.assertServerThread("OrbSlotCache.findOrb");
+        Inventory inventory = player.getInventory();
+        UUID playerId = player.getUUID();
+
+        int cached = slots.getInt(playerId);
+        if (cached != NO_SLOT && cached < inventory.getContainerSize()) {
+            ItemStack stack = inventory.getItem(cached);
+            if (stack.is(ModItems.MYSTERIOUS_ORB.get())) {
+                hits++;
+                int changes = inventory.getTimesChanged();
+                if (changeStamps.getInt(playerId) == changes) {
+                    return stack;
+                }
+                // Inventory changed since: an orb may now sit in an earlier slot
+                for (int i = 0; i < cached; i++) {
+                    ItemStack earlier = inventory.getItem(i);
+                    if (earlier.is(ModItems.MYSTERIOUS_ORB.get())) {
+                        stack = earlier;
+                        slots.put(playerId, i);
+                        break;
+                    }
+                }
+                changeStamps.put(playerId, changes);
+                return stack;
+            }
+        }
+
+        // Miss: scan the inventory and remember where the orb is
+        misses++;
+        for (int i = 0; i < inventory.getContainerSize(); i++) {
+            ItemStack stack = inventory.getItem(i);
+            if (stack.is(ModItems.MYSTERIOUS_ORB.get())) {
+                slots.put(playerId, i);
+                changeStamps.put(playerId, inventory.getTimesChanged());
+                return stack;
+            }
+        }
+        invalidate(playerId);
+        return null;
+    }
+
+    public static void invalidate(UUID playerId) {
+        slots.removeInt(playerId);
+        changeStamps.removeInt(playerId);
+    }
+
+    public static long getHits() {
+        return hits;
+    }
+
+    public static long getMisses() {
+        return misses;
+    }
+
+    // === Event hooks ===
+
+    @SubscribeEvent
+    public static void onItemPickup(ItemEntityPickupEvent.Post event) {
+        // A picked up orb may land in an earlier slot than the cached one
+        if (event.getPlayer() instanceof ServerPlayer player) {
+            invalidate(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onItemToss(ItemTossEvent event) {
+        if (event.getPlayer() instanceof ServerPlayer player) {
+            invalidate(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        // Only orb moves matter; hotbar scrolling and other items leave the slot where it was
+        if (event.getEntity() instanceof ServerPlayer player
+            && (event.getFrom().is(ModItems.MYSTERIOUS_ORB.get()) || event.getTo().is(ModItems.MYSTERIOUS_ORB.get()))) {
+            invalidate(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        invalidate(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        // New player instance, and keepInventory may be off
+        invalidate(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        slots.clear();
+        changeStamps.clear();
+    }
+}
@@ -0,0 +1,198 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.items.ModItems;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Coalesces cosmetic orb data writes on stacks held by players.
+ * Every ItemStack.set on a network-synchronized component dirties the slot and causes a container
+ * sync, so repeated puzzle feedback (e.g. "close" digit marks) is buffered here and applied once every
+ * {@link HuntConfig#ORB_WRITE_FLUSH_TICKS} ticks. Repeated writes to the same slot collapse into
+ * one, and writes that don't change the stored value are dropped. Milestones (digit reveals, battle
+ * progress) go through {@link #writeNow} and are never buffered.
+ *
+ * Writes are keyed by player and inventory slot, not by stack, because the stack object in a slot can be
+ * replaced (container syncs, merges) without the orb changing. At flush the slot is looked up again, and
+ * the write only lands if that slot still holds an orb with the data the write was based on.
+ *
+ * Code that writes through this buffer must also read through {@link #read} to see pending values.
+ * Direct writes through {@link MysteriousOrbItem#setOrbData} drop the stack's pending value, so the newer data wins.
+ */
+@EventBusSubscriber
+public class OrbWriteBuffer {
+
+    private record SlotKey(UUID playerId, int slot) {
+    }
+
+    // base is the stored data the write was computed from; the write is dropped if the orb no longer has it
+    private record Pending(ServerPlayer player, ItemStack stack, OrbData base, OrbData data) {
+    }
+
+    private static final int NO_SLOT = -1;
+
+    private static final Map<SlotKey, Pending> pending = new HashMap<>();
+
+    // Counters for /hunt perf
+    private static long writesRequested = 0;
+    private static long writesApplied = 0;
+
+    /**
+     * Queues a cosmetic orb data write for an orb in the player's inventory. No-op if the value is already
+     * stored or pending. Written right away if the stack isn't in the player's inventory.
+     */
+    public static void write(ServerPlayer player, ItemStack stack, OrbData data) {
+        HuntThreads.assertServerThread("OrbWriteBuffer.write");
+        int slot = slotOf(player.getInventory(), stack);
+        if (slot == NO_SLOT) {
+            writeNow(stack, data);
+            return;
+        }
+        writesRequested++;
+
+        // Always based on what the stack holds now; an older pending write for the slot is replaced
+        SlotKey key = new SlotKey(player.getUUID(), slot);
+        OrbData stored = MysteriousOrbItem.getOrbData(stack);
+        if (data.equals(stored)) {
+            pending.remove(key);
+        } else {
+            pending.put(key, new Pending(player, stack, stored, data));
+        }
+    }
+
+    /**
+     * Writes orb data right away, replacing anything pending for the stack.
+     * For changes the player must see immediately (reveals, battle progress).
+     */
+    public static void writeNow(ItemStack stack, OrbData data) {
+        HuntThreads.assertServerThread("OrbWriteBuffer.writeNow");
+        writesRequested++;
+        discard(stack);
+        apply(stack, data);
+    }
+
+    /**
+     * Drops any pending write for the stack. Called by direct writes so a stale buffered value can't replace them.
+     * Client-side writes never have anything pending and are ignored.
+     */
+    public static void discard(ItemStack stack) {
+        if (!HuntThreads.isServerThread() || pending.isEmpty()) {
+            return;
+        }
+        // Only a handful of writes are ever pending between flushes
+        Iterator<Pending> it = pending.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().stack() == stack) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Reads the orb data, including any write for the player's slot that hasn't been flushed yet.
+     */
+    public static OrbData read(ServerPlayer player, ItemStack stack) {
+        OrbData stored = MysteriousOrbItem.getOrbData(stack);
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        Pending entry = pending.get(new SlotKey(player.getUUID(), slotOf(player.getInventory(), stack)));
+        return entry != null && entry.base().equals(stored) ? entry.data() : stored;
+    }
+
+    /**
+     * Applies all pending writes to the orbs now in their slots.
+     */
+    public static void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<SlotKey, Pending> entry : pending.entrySet()) {
+            Pending write = entry.getValue();
+            // Player left or respawned since the write was queued (pending writes are flushed on logout)
+            if (write.player().isRemoved()) {
+                continue;
+            }
+            ItemStack stack = write.player().getInventory().getItem(entry.getKey().slot());
+            // Orb moved, was consumed, or was changed by something else since the write was queued
+            if (!stack.is(ModItems.MYSTERIOUS_ORB.get()) || !write.base().equals(MysteriousOrbItem.getOrbData(stack))) {
+                continue;
+            }
+            apply(stack, write.data());
+        }
+        pending.clear();
+    }
+
+    private static int slotOf(Inventory inventory, ItemStack stack) {
+        // Puzzle orbs are held, so the hands are checked first
+        if (inventory.getItem(inventory.selected) == stack) {
+            return inventory.selected;
+        }
+        if (inventory.getItem(Inventory.SLOT_OFFHAND) == stack) {
+            return Inventory.SLOT_OFFHAND;
+        }
+        for (int i = 0; i < inventory.getContainerSize(); i++) {
+            if (inventory.getItem(i) == stack) {
+                return i;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    private static void apply(ItemStack stack, OrbData data) {
+        if (!data.equals(stack.get(HuntDataComponents.ORB_DATA.get()))) {
+            MysteriousOrbItem.storeOrbData(stack, data);
+            writesApplied++;
+        }
+    }
+
+    public static int getPendingCount() {
+        return pending.size();
+    }
+
+    public static long getWritesRequested() {
+        return writesRequested;
+    }
+
+    public static long getWritesApplied() {
+        return writesApplied;
+    }
+
+    /**
+     * Writes that never reached a stack (duplicates, no-ops, or superseded before flushing).
+     */
+    public static long getWritesAvoided() {
+        return writesRequested - writesApplied;
+    }
+
+    // === Event hooks ===
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (HuntClock.get().ticks() % HuntConfig.ORB_WRITE_FLUSH_TICKS == 0) {
+            flush();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        // Make sure pending writes land before the player's data is saved
+        flush();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        flush();
+    }
+}
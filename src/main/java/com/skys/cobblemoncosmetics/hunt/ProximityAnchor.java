@@ -0,0 +1,119 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * A point in the world that orb holders can get feedback for as they approach it.
+ * Distance is measured on the X/Z plane and compared against a set of nested bands,
+ * outermost first. Band 0 means out of range, band N means inside the innermost ring.
+ */
+public class ProximityAnchor {
+
+    private final String name;
+    private final ResourceKey<Level> dimension; // null = any dimension
+    private final int x;
+    private final int y;
+    private final int z;
+    private final int[] bandRadii;
+    private final long[] bandRadiiSquared;
+    private final Listener listener;
+
+    // Assigned by ProximityEngine on registration
+    int id = -1;
+
+    /**
+     * @param bandRadii ring radii in blocks, largest first (e.g. 100, 50, 25)
+     */
+    public ProximityAnchor(String name, ResourceKey<Level> dimension, int x, int y, int z,
+                           int[] bandRadii, Listener listener) {
+        for (int i = 1; i < bandRadii.length; i++) {
+            if (bandRadii[i] > bandRadii[i - 1]) {
+                throw new IllegalArgumentException("Band radii must be ordered largest first: " + name);
+            }
+        }
+        this.name = name;
+        this.dimension = dimension;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.bandRadii = bandRadii.clone();
+        this.bandRadiiSquared = new long[bandRadii.length];
+        for (int i = 0; i < bandRadii.length; i++) {
+            bandRadiiSquared[i] = (long) bandRadii[i] * bandRadii[i];
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * Band for a position: 0 = out of range, 1 = outermost ring, up to the number of bands.
+     */
+    public int bandAt(int posX, int posZ) {
+        long dx = posX - x;
+        long dz = posZ - z;
+        long distanceSquared = dx * dx + dz * dz;
+
+        int band = 0;
+        for (long radiusSquared : bandRadiiSquared) {
+            if (distanceSquared > radiusSquared) {
+                break;
+            }
+            band++;
+        }
+        return band;
+    }
+
+    public boolean isExact(int posX, int posY, int posZ) {
+        return posX == x && posY == y && posZ == z;
+    }
+
+    public boolean appliesTo(ResourceKey<Level> levelDimension) {
+        return dimension == null || dimension == levelDimension;
+    }
+
+    public int getMaxRadius() {
+        return bandRadii.length > 0 ? bandRadii[0] : 0;
+    }
+
+    public int getBandCount() {
+        return bandRadii.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Called for each evaluated orb holder that is inside one of the anchor's bands,
+     * and once with band 0 when they leave.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param exact         true if the hunter is standing exactly on the anchor block
+         * @param actionBarBusy true if another puzzle already owns the action bar this evaluation
+         */
+        void onEvaluate(CoordinatePuzzleEvaluator.Hunter hunter, ProximityAnchor anchor, int band, boolean exact,
+                        boolean actionBarBusy);
+    }
+}
@@ -0,0 +1,101 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spatial index of proximity anchors.
+ * Each anchor is stored in every chunk column its outermost band overlaps, so a lookup only
+ * touches the anchors registered in the player's own chunk, no matter how many exist in total.
+ */
+public class ProximityEngine {
+
+    private final Long2ObjectOpenHashMap<List<ProximityAnchor>> cells = new Long2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<ProximityAnchor> anchorsById = new Int2ObjectOpenHashMap<>();
+    private int nextId = 0;
+
+    public void register(ProximityAnchor anchor) {
+        if (anchor.id != -1) {
+            throw new IllegalStateException("Anchor already registered: " + anchor.getName());
+        }
+        anchor.id = nextId++;
+        anchorsById.put(anchor.id, anchor);
+        forEachCell(anchor, key -> cells.computeIfAbsent(key, k -> new ArrayList<>()).add(anchor));
+    }
+
+    public void unregister(ProximityAnchor anchor) {
+        if (anchorsById.remove(anchor.id) == null) {
+            return;
+        }
+        forEachCell(anchor, key -> {
+            List<ProximityAnchor> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(anchor);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+        anchor.id = -1;
+    }
+
+    public ProximityAnchor getAnchor(int id) {
+        return anchorsById.get(id);
+    }
+
+    public Collection<ProximityAnchor> getAnchors() {
+        return anchorsById.values();
+    }
+
+    /**
+     * Calls the visitor for every anchor in range of the position (band above 0).
+     */
+    public void query(ResourceKey<Level> dimension, int x, int y, int z, Visitor visitor) {
+        List<ProximityAnchor> cell = cells.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(x),
+            SectionPos.blockToSectionCoord(z)));
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size(); i++) {
+            ProximityAnchor anchor = cell.get(i);
+            if (!anchor.appliesTo(dimension)) {
+                continue;
+            }
+            int band = anchor.bandAt(x, z);
+            if (band > 0) {
+                visitor.visit(anchor, band, anchor.isExact(x, y, z));
+            }
+        }
+    }
+
+    private static void forEachCell(ProximityAnchor anchor, CellConsumer consumer) {
+        int radius = anchor.getMaxRadius();
+        int minX = SectionPos.blockToSectionCoord(anchor.getX() - radius);
+        int maxX = SectionPos.blockToSectionCoord(anchor.getX() + radius);
+        int minZ = SectionPos.blockToSectionCoord(anchor.getZ() - radius);
+        int maxZ = SectionPos.blockToSectionCoord(anchor.getZ() + radius);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                consumer.accept(ChunkPos.asLong(cx, cz));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(long key);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(ProximityAnchor anchor, int band, boolean exact);
+    }
+}
@@ -0,0 +1,37 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Per-player transient state for the coordinate puzzles.
+ * One instance per online hunter, held by CoordinatePuzzleHandler and dropped on logout.
+ * All times are HuntClock ticks.
+ */
+public class PuzzlePlayerState {
+
+    // Marker for "never happened", so the first cooldown check always passes
+    public static final long NEVER = Long.MIN_VALUE;
+
+    // Star puzzle
+    public long lastStarBeepTime = NEVER;
+    public long starCloseOverrideTime = NEVER;
+
+    // Origin puzzle
+    public long lastOriginHumTime = NEVER;
+    public long lastOriginRevealTime = NEVER;
+    public int lastProximityState = -1;
+
+    // Proximity anchor ids the player was in range of at the last evaluation (and a spare list to swap with)
+    public IntArrayList activeAnchors = new IntArrayList();
+    public IntArrayList previousAnchors = new IntArrayList();
+
+    // Last action bar message, so unchanged text isn't resent every evaluation
+    public final ActionBarChannel actionBar = new ActionBarChannel();
+
+    /**
+     * @return true if more than {@code interval} has passed since {@code last}
+     */
+    public static boolean hasElapsed(long last, long now, long interval) {
+        return last == NEVER || now - last > interval;
+    }
+}
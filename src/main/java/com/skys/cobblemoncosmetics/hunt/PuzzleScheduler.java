@@ -0,0 +1,162 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spreads puzzle evaluations across the tick window.
+ * Each hunter gets a stable phase slot from a hash of their UUID and is evaluated once per period,
+ * on the tick matching that slot. At most {@code budget} evaluations run per tick; anything over the
+ * budget is deferred to the following ticks instead of being dropped.
+ *
+ * Hunters are bucketed by slot when registered, so a tick only walks the hunters of its own slot.
+ * Each entry is stamped with the tick it last ran, so a deferred hunter whose own slot comes up
+ * on the same tick is only evaluated once.
+ */
+public class PuzzleScheduler<T> {
+
+    private final int period;
+    private final int budget;
+    private final Function<T, UUID> idFunction;
+
+    private static final class Entry<T> {
+        final T value;
+        long lastEvaluatedTick = Long.MIN_VALUE;
+        boolean deferred = false;
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+
+    // Registered hunters by phase slot, insertion ordered so evaluation order is stable between periods
+    private final Map<UUID, Entry<T>>[] slots;
+    private int registered = 0;
+
+    // Hunters that were due but did not fit into a tick's budget
+    private final ArrayDeque<Entry<T>> deferred = new ArrayDeque<>();
+
+    private long totalEvaluations = 0;
+    private long totalDeferrals = 0;
+
+    public PuzzleScheduler(int period, int budget, Function<T, UUID> idFunction) {
+        if (period < 1 || budget < 1) {
+            throw new IllegalArgumentException("Period and budget must be at least 1");
+        }
+        this.period = period;
+        this.budget = budget;
+        this.idFunction = idFunction;
+        @SuppressWarnings("unchecked")
+        Map<UUID, Entry<T>>[] buckets = new Map[period];
+        for (int i = 0; i < period; i++) {
+            buckets[i] = new LinkedHashMap<>();
+        }
+        this.slots = buckets;
+    }
+
+    /**
+     * Stable phase slot (0 to period - 1) for a player.
+     */
+    public static int phaseOf(UUID playerId, int period) {
+        long hash = HashCommon.mix(playerId.getMostSignificantBits() ^ playerId.getLeastSignificantBits());
+        return (int) Math.floorMod(hash, (long) period);
+    }
+
+    /**
+     * Adds a hunter to its phase slot, replacing any earlier instance with the same UUID (e.g. after a respawn).
+     */
+    public void register(T candidate) {
+        UUID id = idFunction.apply(candidate);
+        if (slots[phaseOf(id, period)].put(id, new Entry<>(candidate)) == null) {
+            registered++;
+        }
+    }
+
+    public void unregister(UUID id) {
+        if (slots[phaseOf(id, period)].remove(id) != null) {
+            registered--;
+        }
+    }
+
+    private boolean isRegistered(Entry<T> entry) {
+        UUID id = idFunction.apply(entry.value);
+        return slots[phaseOf(id, period)].get(id) == entry;
+    }
+
+    /**
+     * Runs the evaluator for every registered hunter in this tick's slot, plus any deferred work,
+     * without exceeding the per-tick budget. Nobody is evaluated twice in one tick.
+     */
+    public void tick(long tick, Consumer<T> evaluator) {
+        int slot = (int) Math.floorMod(tick, (long) period);
+        int used = 0;
+
+        // Work left over from previous ticks goes first so nobody starves
+        while (used < budget && !deferred.isEmpty()) {
+            Entry<T> entry = deferred.poll();
+            entry.deferred = false;
+            // Skip hunters that were unregistered or replaced while waiting
+            if (!isRegistered(entry)) {
+                continue;
+            }
+            entry.lastEvaluatedTick = tick;
+            evaluator.accept(entry.value);
+            used++;
+        }
+
+        for (Entry<T> entry : slots[slot].values()) {
+            if (entry.lastEvaluatedTick == tick) {
+                continue; // Already ran from the deferred queue this tick
+            }
+            if (used < budget) {
+                entry.lastEvaluatedTick = tick;
+                evaluator.accept(entry.value);
+                used++;
+            } else if (!entry.deferred) {
+                entry.deferred = true;
+                deferred.add(entry);
+                totalDeferrals++;
+            }
+        }
+
+        totalEvaluations += used;
+    }
+
+    public void clear() {
+        for (Map<UUID, Entry<T>> bucket : slots) {
+            bucket.clear();
+        }
+        registered = 0;
+        deferred.clear();
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getRegisteredCount() {
+        return registered;
+    }
+
+    public int getDeferredCount() {
+        return deferred.size();
+    }
+
+    public long getTotalEvaluations() {
+        return totalEvaluations;
+    }
+
+    public long getTotalDeferrals() {
+        return totalDeferrals;
+    }
+}
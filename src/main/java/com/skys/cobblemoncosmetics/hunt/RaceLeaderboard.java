@@ -0,0 +1,220 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Live hunt standings: players ordered by stage (highest first), then by when they reached it (earliest first).
+ *
+ * Backed by a treap whose nodes track their subtree size, so updates, "rank of player X" and
+ * the start of a "top N" walk are all O(log n). Per-stage counts are kept alongside for funnel views.
+ * Updated incrementally by {@link CrystalAscendancyManager#setPlayerStage}.
+ */
+public class RaceLeaderboard {
+
+    public static final int MAX_STAGE = 5;
+
+    // Reached-at time for players whose time isn't known (e.g. older saves); sorts after every real time
+    public static final long UNKNOWN_TIME = Long.MAX_VALUE;
+
+    /**
+     * One leaderboard row.
+     *
+     * @param reachedAtMillis wall-clock time the player reached this stage, or {@link #UNKNOWN_TIME}
+     */
+    public record Standing(UUID playerId, int stage, long reachedAtMillis) {}
+
+    private static final class Node {
+        final Standing standing;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Standing standing, int priority) {
+            this.standing = standing;
+            this.priority = priority;
+        }
+    }
+
+    private final Object2ObjectOpenHashMap<UUID, Node> nodes = new Object2ObjectOpenHashMap<>();
+    private final int[] stageCounts = new int[MAX_STAGE + 1];
+    private final SplittableRandom random = new SplittableRandom(0x5EEDL);
+    private Node root = null;
+
+    // === Updates ===
+
+    /**
+     * Inserts or moves a player. O(log n) expected.
+     */
+    public void update(UUID playerId, int stage, long reachedAtMillis) {
+        remove(playerId);
+        stage = Math.max(1, Math.min(MAX_STAGE, stage)); // Hand-edited saves could hold anything
+        Node node = new Node(new Standing(playerId, stage, reachedAtMillis), random.nextInt());
+        Node[] parts = split(root, node.standing);
+        root = merge(merge(parts[0], node), parts[1]);
+        nodes.put(playerId, node);
+        stageCounts[stage]++;
+    }
+
+    public void remove(UUID playerId) {
+        Node node = nodes.remove(playerId);
+        if (node == null) {
+            return;
+        }
+        root = removeNode(root, node.standing);
+        stageCounts[node.standing.stage()]--;
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+        Arrays.fill(stageCounts, 0);
+    }
+
+    // === Queries ===
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the player's 1-based position, or -1 if they aren't on the board. O(log n) expected.
+     */
+    public int getRank(UUID playerId) {
+        Node target = nodes.get(playerId);
+        if (target == null) {
+            return -1;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target.standing, node.standing);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1; // Unreachable while nodes and the tree agree
+    }
+
+    public Standing getStanding(UUID playerId) {
+        Node node = nodes.get(playerId);
+        return node != null ? node.standing : null;
+    }
+
+    /**
+     * Returns up to count standings starting at the given 1-based rank. O(log n + count).
+     */
+    public List<Standing> getRange(int fromRank, int count) {
+        List<Standing> result = new ArrayList<>(Math.max(0, Math.min(count, size() - fromRank + 1)));
+        collect(root, fromRank - 1, count, result);
+        return result;
+    }
+
+    public List<Standing> getTop(int count) {
+        return getRange(1, count);
+    }
+
+    public int getStageCount(int stage) {
+        return stage >= 1 && stage <= MAX_STAGE ? stageCounts[stage] : 0;
+    }
+
+    // === Treap internals ===
+
+    // Board order: higher stage first, then earlier time, then UUID so every key is distinct
+    private static int compare(Standing a, Standing b) {
+        if (a.stage() != b.stage()) {
+            return Integer.compare(b.stage(), a.stage());
+        }
+        if (a.reachedAtMillis() != b.reachedAtMillis()) {
+            return Long.compare(a.reachedAtMillis(), b.reachedAtMillis());
+        }
+        return a.playerId().compareTo(b.playerId());
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    /**
+     * Splits into keys before the given standing and keys at or after it.
+     */
+    private static Node[] split(Node node, Standing key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(node.standing, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = resize(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = resize(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return resize(left);
+        }
+        right.left = merge(left, right.left);
+        return resize(right);
+    }
+
+    private static Node removeNode(Node node, Standing key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(key, node.standing);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = removeNode(node.left, key);
+        } else {
+            node.right = removeNode(node.right, key);
+        }
+        return resize(node);
+    }
+
+    /**
+     * In-order walk that skips whole subtrees before the start index.
+     */
+    private static void collect(Node node, int skip, int count, List<Standing> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, count, out);
+        }
+        if (out.size() >= count) {
+            return;
+        }
+        if (skip <= leftSize) {
+            out.add(node.standing);
+        }
+        collect(node.right, Math.max(0, skip - leftSize - 1), count, out);
+    }
+}
@@ -0,0 +1,237 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind for race save files. The server thread hands over already-captured tags,
+ * and a single background thread compresses and writes them, so writes to the same file stay in order.
+ *
+ * Every file is written to a temp file and renamed over the old one, so a crash mid-write leaves
+ * the previous version intact. Nothing is ever written on the calling thread while earlier writes are
+ * still queued, since those could land afterwards with older data: when too many saves are queued the
+ * caller waits for the writer to catch up. Only with async saves turned off are batches written inline.
+ */
+@EventBusSubscriber
+public class RaceSaveWriter {
+
+    /**
+     * One file to write, or to delete when tag is null. onFailure runs on the writer thread.
+     */
+    public record Write(Path file, CompoundTag tag, Runnable onFailure) {}
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private static ExecutorService executor = null;
+    private static final AtomicInteger inFlight = new AtomicInteger();
+
+    // Counters for /hunt perf
+    private static final AtomicLong asyncBatches = new AtomicLong();
+    private static final AtomicLong inlineBatches = new AtomicLong();
+    private static final AtomicLong waitedBatches = new AtomicLong();
+    private static final AtomicLong failedWrites = new AtomicLong();
+    private static final AtomicLong compactions = new AtomicLong();
+
+    /**
+     * Writes a batch in the background. Blocks first if the background queue is full.
+     */
+    public static void submit(List<Write> batch) {
+        if (!batch.isEmpty()) {
+            run(() -> writeAll(batch));
+        }
+    }
+
+    /**
+     * Appends fixed-size records to a file in the background (waiting if the queue is full). Used for the
+     * stage timeline, which is a log rather than a snapshot, so appends aren't renamed into place.
+     * Once the file holds more than maxRecords it is compacted to its newest keepRecords.
+     */
+    public static void submitAppend(Path file, byte[] data, int recordBytes, long maxRecords, long keepRecords) {
+        run(() -> append(file, data, recordBytes, maxRecords, keepRecords));
+    }
+
+    private static void run(Runnable task) {
+        if (!HuntConfig.RACE_ASYNC_SAVE) {
+            inlineBatches.incrementAndGet();
+            task.run();
+            return;
+        }
+
+        // Wait rather than write inline, so this batch can't be overtaken by older queued ones
+        if (inFlight.get() >= HuntConfig.RACE_SAVE_MAX_IN_FLIGHT) {
+            waitedBatches.incrementAndGet();
+            waitUntilInFlightAtMost(HuntConfig.RACE_SAVE_MAX_IN_FLIGHT - 1);
+        }
+        inFlight.incrementAndGet();
+        // Locked so the server stop can't shut this executor down between lookup and execute
+        synchronized (RaceSaveWriter.class) {
+            executor().execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    synchronized (inFlight) {
+                        inFlight.decrementAndGet();
+                        inFlight.notifyAll();
+                    }
+                }
+            });
+        }
+        asyncBatches.incrementAndGet();
+    }
+
+    /**
+     * Blocks until every write handed over so far has finished (or failed).
+     */
+    public static void awaitIdle() {
+        waitUntilInFlightAtMost(0);
+    }
+
+    private static void waitUntilInFlightAtMost(int limit) {
+        synchronized (inFlight) {
+            while (inFlight.get() > limit) {
+                try {
+                    inFlight.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void append(Path file, byte[] data, int recordBytes, long maxRecords, long keepRecords) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (Files.size(file) > maxRecords * recordBytes) {
+                compact(file, recordBytes, keepRecords);
+            }
+        } catch (IOException e) {
+            failedWrites.incrementAndGet();
+            SkysCobblemonCosmetics.LOGGER.error("Failed to append to {}", file, e);
+        }
+    }
+
+    /**
+     * Rewrites a record log to its newest records, renamed into place like the snapshots.
+     * A partial record left at the end by a crash is dropped.
+     */
+    private static void compact(Path file, int recordBytes, long keepRecords) throws IOException {
+        long whole = Files.size(file) / recordBytes;
+        long start = Math.max(0, whole - keepRecords) * recordBytes;
+        int length = (int) ((whole * recordBytes) - start);
+
+        ByteBuffer kept = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(start);
+            while (kept.hasRemaining() && channel.read(kept) >= 0) {
+                // Keep reading until the window is full
+            }
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, kept.array(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        compactions.incrementAndGet();
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Hunt race save writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private static void writeAll(List<Write> batch) {
+        for (Write write : batch) {
+            try {
+                if (write.tag() == null) {
+                    Files.deleteIfExists(write.file());
+                } else {
+                    writeAtomically(write.file(), write.tag());
+                }
+            } catch (IOException e) {
+                failedWrites.incrementAndGet();
+                SkysCobblemonCosmetics.LOGGER.error("Failed to write race save file {}", write.file(), e);
+                write.onFailure().run();
+            }
+        }
+    }
+
+    private static void writeAtomically(Path file, CompoundTag tag) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        NbtIo.writeCompressed(tag, temp);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static int getInFlight() {
+        return inFlight.get();
+    }
+
+    public static long getAsyncBatches() {
+        return asyncBatches.get();
+    }
+
+    public static long getInlineBatches() {
+        return inlineBatches.get();
+    }
+
+    /**
+     * Batches that had to wait for the writer because the queue was full.
+     */
+    public static long getWaitedBatches() {
+        return waitedBatches.get();
+    }
+
+    public static long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    public static long getCompactions() {
+        return compactions.get();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        // The final world save has already queued its writes; let them finish before the JVM can exit
+        ExecutorService pending;
+        synchronized (RaceSaveWriter.class) {
+            pending = executor;
+            executor = null;
+        }
+        if (pending == null) {
+            return;
+        }
+        pending.shutdown();
+        try {
+            if (!pending.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                SkysCobblemonCosmetics.LOGGER.error("Race saves still pending after {}s, some player records may be stale",
+                    SHUTDOWN_WAIT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import com.skys.cobblemoncosmetics.SkysCobblemonCosmetics;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player race records split across region-style bucket files, so a save only rewrites
+ * the buckets whose players changed since the last one.
+ *
+ * Players are assigned to a bucket by UUID hash. Each bucket file holds the same parallel-array
+ * layout as the main race save, restricted to its players. The race header (start, winner) stays
+ * in the regular CrystalAscendancyManager SavedData file.
+ *
+ * A save only captures the dirty buckets as tags on the server thread; {@link RaceSaveWriter}
+ * compresses and writes them in the background.
+ *
+ * A bucket file that can't be read is copied aside before anything is written over it. If even the copy
+ * fails, the bucket is never written back this session, so the original stays on disk for recovery.
+ */
+public class RaceShardStore {
+
+    // Part of the on-disk layout: changing it would put existing players in the wrong files
+    public static final int BUCKETS = 64;
+
+    private final Path directory;
+    private final ObjectOpenHashSet<UUID>[] members;
+    private long dirtyBuckets = 0; // One bit per bucket
+    private long lockedBuckets = 0; // Unreadable buckets that couldn't be backed up, never written
+    private final AtomicLong failedBuckets = new AtomicLong(); // Set by the writer thread, merged on the next save
+
+    // Last flush, for /hunt perf
+    private int lastFlushBuckets = 0;
+    private long lastFlushNanos = 0;
+
+    @SuppressWarnings("unchecked")
+    public RaceShardStore(Path directory) {
+        this.directory = directory;
+        this.members = new ObjectOpenHashSet[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            members[i] = new ObjectOpenHashSet<>();
+        }
+    }
+
+    public static int bucketOf(UUID playerId) {
+        return Math.floorMod(playerId.hashCode(), BUCKETS);
+    }
+
+    private Path bucketFile(int bucket) {
+        return directory.resolve(String.format("bucket_%02d.dat", bucket));
+    }
+
+    public boolean isLocked(int bucket) {
+        return (lockedBuckets & 1L << bucket) != 0;
+    }
+
+    /**
+     * Marks a player's bucket for rewriting on the next save.
+     */
+    public void track(UUID playerId) {
+        int bucket = bucketOf(playerId);
+        members[bucket].add(playerId);
+        dirtyBuckets |= 1L << bucket;
+    }
+
+    public void markAllDirty() {
+        dirtyBuckets = -1L;
+    }
+
+    public boolean hasDirtyBuckets() {
+        return dirtyBuckets != 0;
+    }
+
+    /**
+     * Re-marks buckets whose background write failed. Returns true if there were any.
+     */
+    public boolean collectFailedBuckets() {
+        long failed = failedBuckets.getAndSet(0);
+        dirtyBuckets |= failed;
+        return failed != 0;
+    }
+
+    /**
+     * Reads every bucket file into the manager. Unreadable buckets are backed up (or locked) and skipped,
+     * so their players start empty without the next save destroying the only copy.
+     */
+    public void load(CrystalAscendancyManager manager) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            Path file = bucketFile(bucket);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try {
+                manager.loadArrays(NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap()));
+            } catch (IOException e) {
+                SkysCobblemonCosmetics.LOGGER.error("Failed to read Crystal Ascendancy bucket {}", file, e);
+                backUpUnreadable(bucket, file);
+            }
+        }
+        manager.forEachPlayerRecord(playerId -> members[bucketOf(playerId)].add(playerId));
+    }
+
+    private void backUpUnreadable(int bucket, Path file) {
+        Path backup = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.copy(file, backup);
+            SkysCobblemonCosmetics.LOGGER.error("Copied unreadable bucket to {}; its players start over from empty", backup);
+        } catch (IOException e) {
+            lockedBuckets |= 1L << bucket;
+            SkysCobblemonCosmetics.LOGGER.error("Failed to back up unreadable bucket {}, it will not be saved this session",
+                file, e);
+        }
+    }
+
+    /**
+     * Captures the dirty buckets and hands them to the writer. Buckets that fail to write are
+     * reported back through {@link #collectFailedBuckets} and retried on the next save.
+     */
+    public void flush(CrystalAscendancyManager manager) {
+        if (dirtyBuckets == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<RaceSaveWriter.Write> batch = new ArrayList<>(Long.bitCount(dirtyBuckets));
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            SkysCobblemonCosmetics.LOGGER.error("Failed to create Crystal Ascendancy bucket directory {}", directory, e);
+            return;
+        }
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if ((dirtyBuckets & 1L << bucket) == 0 || isLocked(bucket)) {
+                continue;
+            }
+            ObjectOpenHashSet<UUID> bucketMembers = members[bucket];
+            bucketMembers.removeIf(playerId -> !manager.hasPlayerRecord(playerId));
+
+            // The tag is built from fresh arrays, so the writer thread can use it while the race keeps changing
+            long bit = 1L << bucket;
+            CompoundTag snapshot = bucketMembers.isEmpty() ? null : manager.savePlayers(bucketMembers);
+            batch.add(new RaceSaveWriter.Write(bucketFile(bucket), snapshot, () -> failedBuckets.getAndUpdate(failed -> failed | bit)));
+        }
+        dirtyBuckets = 0;
+        lastFlushBuckets = batch.size();
+        lastFlushNanos = System.nanoTime() - start; // Server-thread cost only
+
+        RaceSaveWriter.submit(batch);
+    }
+
+    public int getLastFlushBuckets() {
+        return lastFlushBuckets;
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * A direction in the sky that a hunter can find by looking at it.
+ * Stored as a precomputed unit look vector so matching is a dot product, not trig.
+ *
+ * @param name           debug name
+ * @param slot           caller-defined index (e.g. which X digit this target reveals), 0-31
+ * @param x              look vector X (same convention as Entity#getLookAngle)
+ * @param y              look vector Y
+ * @param z              look vector Z
+ * @param moonPhaseMask  bit per moon phase (0-7) the target is visible in
+ * @param startDayTime   first day time (0-23999) the target is visible, inclusive
+ * @param endDayTime     last day time the target is visible, inclusive
+ * @param dimension      dimension the target is visible in, or null for any
+ */
+public record SkyTarget(String name, int slot, double x, double y, double z,
+                        int moonPhaseMask, int startDayTime, int endDayTime, ResourceKey<Level> dimension) {
+
+    public static final int ALL_MOON_PHASES = 0xFF;
+
+    /**
+     * Builds a target from a yaw/pitch pair in degrees (pitch negative = looking up).
+     */
+    public static SkyTarget fromRotation(String name, int slot, float yaw, float pitch, int moonPhaseMask,
+                                         int startDayTime, int endDayTime, ResourceKey<Level> dimension) {
+        // Same math as Entity#calculateViewVector
+        double pitchRad = Math.toRadians(pitch);
+        double yawRad = Math.toRadians(-yaw);
+        double horizontal = Math.cos(pitchRad);
+        return new SkyTarget(name, slot,
+            Math.sin(yawRad) * horizontal,
+            -Math.sin(pitchRad),
+            Math.cos(yawRad) * horizontal,
+            moonPhaseMask, startDayTime, endDayTime, dimension);
+    }
+
+    public boolean isVisible(ResourceKey<Level> levelDimension, long dayTime, int moonPhase) {
+        return (moonPhaseMask & (1 << moonPhase)) != 0
+            && dayTime >= startDayTime && dayTime <= endDayTime
+            && (dimension == null || dimension == levelDimension);
+    }
+
+    public double dot(double lookX, double lookY, double lookZ) {
+        return x * lookX + y * lookY + z * lookZ;
+    }
+}
@@ -0,0 +1,121 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matches a player's look vector against a set of sky targets.
+ * Target vectors are kept in flat arrays so the match loop is a plain dot product per target,
+ * and angular ranges are converted to cosine thresholds once up front.
+ */
+public class SkyTargetEngine {
+
+    // Star puzzle ranges as dot product thresholds: a look within N degrees has dot > cos(N)
+    public static final double STAR_EXACT_DOT = cosDegrees(HuntConfig.STAR_EXACT_RANGE);
+    public static final double STAR_CLOSE_DOT = cosDegrees(HuntConfig.STAR_CLOSE_RANGE);
+    public static final double STAR_BEEP_DOT = cosDegrees(HuntConfig.STAR_BEEP_RANGE);
+
+    private final List<SkyTarget> targets = new ArrayList<>();
+
+    // Flat copies of the target vectors for the hot loop
+    private double[] targetX = new double[0];
+    private double[] targetY = new double[0];
+    private double[] targetZ = new double[0];
+
+    // Widest range a match is reported for
+    private final double minDot;
+
+    /**
+     * @param matchRangeDegrees targets further than this from the look direction are ignored
+     */
+    public SkyTargetEngine(double matchRangeDegrees) {
+        this.minDot = cosDegrees(matchRangeDegrees);
+    }
+
+    /**
+     * Engine with the star puzzle targets: one per X digit, visible at night for two moon phases each.
+     * Moon phases: 0=full, 1, 2, 3, 4=new, 5, 6, 7
+     */
+    public static SkyTargetEngine createStarPuzzle() {
+        SkyTargetEngine engine = new SkyTargetEngine(HuntConfig.STAR_BEEP_RANGE);
+        for (int digit = 0; digit < HuntConfig.STAR_TARGET_YAWS.length; digit++) {
+            int moonPhases = (1 << (digit * 2)) | (1 << (digit * 2 + 1));
+            engine.add(SkyTarget.fromRotation("x_digit_" + digit, digit, HuntConfig.STAR_TARGET_YAWS[digit],
+                HuntConfig.STAR_TARGET_PITCH, moonPhases, HuntEnvironment.NIGHT_START, HuntEnvironment.NIGHT_END,
+                null));
+        }
+        return engine;
+    }
+
+    public void add(SkyTarget target) {
+        if (target.slot() < 0 || target.slot() > 31) {
+            throw new IllegalArgumentException("Sky target slot must be 0-31: " + target.name());
+        }
+        targets.add(target);
+        int count = targets.size();
+        targetX = Arrays.copyOf(targetX, count);
+        targetY = Arrays.copyOf(targetY, count);
+        targetZ = Arrays.copyOf(targetZ, count);
+        targetX[count - 1] = target.x();
+        targetY[count - 1] = target.y();
+        targetZ[count - 1] = target.z();
+    }
+
+    public List<SkyTarget> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Finds the visible target closest to the look direction, within the match range.
+     *
+     * @param lookX        unit look vector X (lookY/lookZ likewise)
+     * @param excludeSlots bit per slot to skip (e.g. digits already revealed)
+     * @return the closest target, or null if none is in range
+     */
+    public SkyTarget findBest(ResourceKey<Level> dimension, long dayTime, int moonPhase,
+                              double lookX, double lookY, double lookZ, int excludeSlots) {
+        SkyTarget best = null;
+        double bestDot = minDot;
+
+        for (int i = 0; i < targetX.length; i++) {
+            double dot = targetX[i] * lookX + targetY[i] * lookY + targetZ[i] * lookZ;
+            if (dot < bestDot) {
+                continue;
+            }
+            SkyTarget target = targets.get(i);
+            if ((excludeSlots & (1 << target.slot())) != 0 || !target.isVisible(dimension, dayTime, moonPhase)) {
+                continue;
+            }
+            best = target;
+            bestDot = dot;
+        }
+
+        return best;
+    }
+
+    /**
+     * Same as {@link #findBest(ResourceKey, long, int, double, double, double, int)} using a level snapshot.
+     */
+    public SkyTarget findBest(HuntEnvironment environment, double lookX, double lookY, double lookZ,
+                              int excludeSlots) {
+        return findBest(environment.dimension(), environment.dayTime(), environment.moonPhase(),
+            lookX, lookY, lookZ, excludeSlots);
+    }
+
+    /**
+     * How far off target a look is within the star beep range, from 0 (on target) to 1 (edge of the range).
+     * Uses the chord length sqrt(1 - dot) instead of the angle, which stays within 2% of the
+     * angle ratio out to 45 degrees and needs no acos.
+     */
+    public static float starBeepFraction(double dot) {
+        return (float) Math.min(1.0, Math.sqrt(Math.max(0.0, 1.0 - dot) / (1.0 - STAR_BEEP_DOT)));
+    }
+
+    public static double cosDegrees(double degrees) {
+        return Math.cos(Math.toRadians(degrees));
+    }
+}
@@ -0,0 +1,156 @@
+package com.skys.cobblemoncosmetics.hunt;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Recent hunt stage transitions, kept in a fixed-size ring of primitive arrays so recording one never allocates.
+ *
+ * Entries not yet written to disk are periodically appended to a binary file by {@link RaceSaveWriter}.
+ * When the file passes {@link HuntConfig#STAGE_TIMELINE_FILE_MAX_RECORDS} records, the writer compacts it
+ * to the newest {@link HuntConfig#STAGE_TIMELINE_FILE_KEEP_RECORDS}, so it never grows without bound.
+ * Each record is {@link #RECORD_BYTES} bytes, big-endian:
+ * UUID most bits (8), UUID least bits (8), from stage (1), to stage (1), server tick (8), wall millis (8).
+ * A from stage of 0 means the player had no stage before.
+ *
+ * If more than a full ring of transitions arrives between flushes, the oldest unwritten ones are lost and counted.
+ */
+public class StageTimeline {
+
+    public static final int RECORD_BYTES = 8 + 8 + 1 + 1 + 8 + 8;
+
+    private final int capacity;
+    private final long[] playerMost;
+    private final long[] playerLeast;
+    private final byte[] fromStage;
+    private final byte[] toStage;
+    private final long[] ticks;
+    private final long[] wallMillis;
+
+    private long recorded = 0; // Total transitions ever recorded; the next one goes to recorded % capacity
+    private long flushed = 0;  // Transitions up to this count are on disk (or were lost)
+    private long lost = 0;
+
+    private Path file = null; // Null when not attached to a world; nothing is written
+
+    public StageTimeline(int capacity) {
+        this.capacity = capacity;
+        this.playerMost = new long[capacity];
+        this.playerLeast = new long[capacity];
+        this.fromStage = new byte[capacity];
+        this.toStage = new byte[capacity];
+        this.ticks = new long[capacity];
+        this.wallMillis = new long[capacity];
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends a transition, overwriting the oldest one when the ring is full.
+     */
+    public void record(UUID playerId, int from, int to, long tick, long wallMillis) {
+        int slot = (int) (recorded % capacity);
+        playerMost[slot] = playerId.getMostSignificantBits();
+        playerLeast[slot] = playerId.getLeastSignificantBits();
+        fromStage[slot] = (byte) from;
+        toStage[slot] = (byte) to;
+        ticks[slot] = tick;
+        this.wallMillis[slot] = wallMillis;
+        recorded++;
+    }
+
+    /**
+     * True once half the ring hasn't been written yet, so callers can flush before anything is overwritten.
+     */
+    public boolean isFlushDue() {
+        return recorded - flushed >= capacity / 2;
+    }
+
+    /**
+     * Packs unwritten transitions and hands them to the background writer. Call on the server thread.
+     */
+    public void flush() {
+        if (file == null || recorded == flushed) {
+            return;
+        }
+        long oldest = Math.max(flushed, recorded - capacity);
+        lost += oldest - flushed;
+
+        int count = (int) (recorded - oldest);
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_BYTES);
+        for (long i = oldest; i < recorded; i++) {
+            int slot = (int) (i % capacity);
+            buffer.putLong(playerMost[slot])
+                .putLong(playerLeast[slot])
+                .put(fromStage[slot])
+                .put(toStage[slot])
+                .putLong(ticks[slot])
+                .putLong(wallMillis[slot]);
+        }
+        flushed = recorded;
+        RaceSaveWriter.submitAppend(file, buffer.array(), RECORD_BYTES,
+            HuntConfig.STAGE_TIMELINE_FILE_MAX_RECORDS, HuntConfig.STAGE_TIMELINE_FILE_KEEP_RECORDS);
+    }
+
+    // === Queries ===
+
+    /**
+     * Number of transitions currently held in memory.
+     */
+    public int size() {
+        return (int) Math.min(recorded, capacity);
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    public long getLost() {
+        return lost;
+    }
+
+    /**
+     * Median time in millis for each one-stage step among the transitions in memory.
+     * Index s holds the median of stage s to stage s + 1 (for players seen entering both), or -1 if none.
+     */
+    public long[] getMedianStepMillis(int maxStage) {
+        // Time each player entered each stage, oldest transitions first so later re-entries win
+        @SuppressWarnings("unchecked")
+        Object2LongOpenHashMap<UUID>[] enteredAt = new Object2LongOpenHashMap[maxStage + 1];
+        LongArrayList[] durations = new LongArrayList[maxStage + 1];
+        for (int stage = 0; stage <= maxStage; stage++) {
+            enteredAt[stage] = new Object2LongOpenHashMap<>();
+            enteredAt[stage].defaultReturnValue(-1L);
+            durations[stage] = new LongArrayList();
+        }
+
+        for (long i = Math.max(0, recorded - capacity); i < recorded; i++) {
+            int slot = (int) (i % capacity);
+            int to = toStage[slot];
+            if (to < 1 || to > maxStage) {
+                continue;
+            }
+            UUID playerId = new UUID(playerMost[slot], playerLeast[slot]);
+            enteredAt[to].put(playerId, wallMillis[slot]);
+            long previous = enteredAt[to - 1].getLong(playerId);
+            if (previous >= 0 && wallMillis[slot] >= previous) {
+                durations[to - 1].add(wallMillis[slot] - previous);
+            }
+        }
+
+        long[] medians = new long[maxStage + 1];
+        for (int stage = 0; stage <= maxStage; stage++) {
+            long[] sorted = durations[stage].toLongArray();
+            Arrays.sort(sorted);
+            medians[stage] = sorted.length == 0 ? -1 : sorted[sorted.length / 2];
+        }
+        return medians;
+    }
+}
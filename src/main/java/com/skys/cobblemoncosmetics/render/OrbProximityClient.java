@@ -0,0 +1,41 @@
+package com.skys.cobblemoncosmetics.render;
+
+import com.skys.cobblemoncosmetics.hunt.HuntConfig;
+import com.skys.cobblemoncosmetics.hunt.OrbClientHooks;
+import com.skys.cobblemoncosmetics.hunt.ProximityAnchor;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Client-side origin proximity for the orb tooltip.
+ * Computed from the local player's position with the same rings the server uses for the hum
+ * (both built from HuntConfig), so it is never stored on the item or synced.
+ *
+ * Client only: common code reads it through {@link OrbClientHooks}, installed by SkysCobblemonCosmeticsClient.
+ */
+public class OrbProximityClient {
+
+    // Local copy of the origin anchor; only its rings are used, never a listener
+    private static final ProximityAnchor ORIGIN = new ProximityAnchor("origin", null,
+        HuntConfig.ORIGIN_X, HuntConfig.ORIGIN_Y, HuntConfig.ORIGIN_Z, HuntConfig.ORIGIN_HUM_BANDS, null);
+
+    /**
+     * Origin proximity of the local player: 0=none, 1=far, 2=medium, 3=close, 4=exact.
+     */
+    public static int currentProximity() {
+        LocalPlayer player = Minecraft.getInstance().player;
+        if (player == null) {
+            return 0;
+        }
+
+        if (!ORIGIN.appliesTo(player.level().dimension())) {
+            return 0;
+        }
+        BlockPos pos = player.blockPosition();
+        if (ORIGIN.isExact(pos.getX(), pos.getY(), pos.getZ())) {
+            return 4;
+        }
+        return ORIGIN.bandAt(pos.getX(), pos.getZ());
+    }
+}
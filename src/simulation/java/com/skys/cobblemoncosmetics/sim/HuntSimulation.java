@@ -0,0 +1,349 @@
+package com.skys.cobblemoncosmetics.sim;
+
+import com.skys.cobblemoncosmetics.hunt.BattleEventQueue;
+import com.skys.cobblemoncosmetics.hunt.BattleFaintHandler;
+import com.skys.cobblemoncosmetics.hunt.BattleHunterCache;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleEvaluator;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleEvaluator.Feedback;
+import com.skys.cobblemoncosmetics.hunt.CoordinatePuzzleEvaluator.Message;
+import com.skys.cobblemoncosmetics.hunt.CrystalAscendancyManager;
+import com.skys.cobblemoncosmetics.hunt.HuntClock;
+import com.skys.cobblemoncosmetics.hunt.HuntConfig;
+import com.skys.cobblemoncosmetics.hunt.HuntDataComponents.OrbState;
+import com.skys.cobblemoncosmetics.hunt.HuntEnvironment;
+import com.skys.cobblemoncosmetics.hunt.OrbData;
+import com.skys.cobblemoncosmetics.hunt.OrbProgress;
+import com.skys.cobblemoncosmetics.hunt.ProximityAnchor;
+import com.skys.cobblemoncosmetics.hunt.ProximityEngine;
+import com.skys.cobblemoncosmetics.hunt.PuzzlePlayerState;
+import com.skys.cobblemoncosmetics.hunt.PuzzleScheduler;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Headless load simulation for the Crystal Ascendancy hunt.
+ * Drives the same scheduler, puzzle evaluation, battle event queue, hunter lookup, faint aggregation,
+ * progression and race manager code the server uses, with scripted hunters and a manual HuntClock,
+ * and reports per-tick cost. No game client or server needed.
+ *
+ * Usage: ./gradlew runHuntSimulation -PsimArgs="100 1000 10000 ticks=2000 budget=64"
+ *
+ * Puzzles run through {@link CoordinatePuzzleEvaluator}, like CoordinatePuzzleHandler. Faints are submitted to
+ * {@link BattleEventQueue} under a synthetic battle per hunter and applied by {@link BattleFaintHandler#processTick}.
+ * Sounds, chat messages and packets are replaced by counters since there is no connection to send them on.
+ *
+ * Only Minecraft classes that load without Bootstrap are touched (SavedData through the race manager,
+ * SectionPos through the proximity index, and the mod logger); players, item stacks and registries are never created.
+ */
+public class HuntSimulation {
+
+    private static final int WARMUP_TICKS = 200;
+
+    private final int hunterCount;
+    private final int ticks;
+    private final HuntClock.Manual clock;
+    private final Random random;
+
+    private final List<SimulatedHunter> hunters = new ArrayList<>();
+    private final Map<UUID, SimulatedHunter> huntersById = new HashMap<>();
+    private final List<SimulatedHunter> holders = new ArrayList<>();
+    private final PuzzleScheduler<SimulatedHunter> scheduler;
+    private final CoordinatePuzzleEvaluator evaluator = new CoordinatePuzzleEvaluator();
+    private final HunterView view = new HunterView();
+    private final CrystalAscendancyManager manager = new CrystalAscendancyManager();
+
+    private HuntEnvironment environment;
+
+    // Feedback counters
+    private long soundsPlayed = 0;
+    private long actionBarsSent = 0;
+    private long digitsRevealed = 0;
+    private long faints = 0;
+    private long stageChanges = 0;
+
+    public HuntSimulation(int hunterCount, int ticks, int budget, long seed, HuntClock.Manual clock) {
+        this.hunterCount = hunterCount;
+        this.ticks = ticks;
+        this.clock = clock;
+        this.random = new Random(seed);
+        this.scheduler = new PuzzleScheduler<>(HuntConfig.PUZZLE_EVAL_PERIOD_TICKS, budget, hunter -> hunter.id);
+
+        // The evaluator's origin puzzle plus the hunt landmarks and a spread of extra anchors to exercise the index
+        ProximityEngine proximityEngine = evaluator.getProximityEngine();
+        ProximityAnchor.Listener silent = (hunter, anchor, band, exact, busy) -> { };
+        int[] landmarkBands = {64, 32, 16};
+        proximityEngine.register(new ProximityAnchor("cove", null,
+            HuntConfig.COVE_X, HuntConfig.COVE_Y, HuntConfig.COVE_Z, landmarkBands, silent));
+        proximityEngine.register(new ProximityAnchor("temple", null,
+            HuntConfig.TEMPLE_X, HuntConfig.TEMPLE_Y, HuntConfig.TEMPLE_Z, landmarkBands, silent));
+        for (int i = 0; i < 50; i++) {
+            proximityEngine.register(new ProximityAnchor("seasonal_" + i, null,
+                random.nextInt(1200) - 600, 64, random.nextInt(1200) - 600, landmarkBands, silent));
+        }
+
+        // Half the hunters start with a filled orb, the rest are still battling for runes
+        for (int i = 0; i < hunterCount; i++) {
+            SimulatedHunter hunter = new SimulatedHunter(random, i % 2 == 0, 0.002);
+            hunters.add(hunter);
+            huntersById.put(hunter.id, hunter);
+            BattleHunterCache.trackSynthetic(hunter.battleId, hunter.id);
+            if (hunter.holdsFilledOrb()) {
+                holders.add(hunter);
+                scheduler.register(hunter);
+            }
+            manager.addPlayerToRace(hunter.id);
+        }
+    }
+
+    public static void main(String[] args) {
+        List<Integer> sizes = new ArrayList<>();
+        int ticks = 2000;
+        int budget = HuntConfig.PUZZLE_MAX_EVALS_PER_TICK;
+        for (String arg : args) {
+            if (arg.startsWith("ticks=")) {
+                ticks = Integer.parseInt(arg.substring(6));
+            } else if (arg.startsWith("budget=")) {
+                budget = Integer.parseInt(arg.substring(7));
+            } else {
+                sizes.add(Integer.parseInt(arg));
+            }
+        }
+        if (sizes.isEmpty()) {
+            sizes.addAll(List.of(100, 1000, 10000));
+        }
+
+        HuntClock.Manual clock = new HuntClock.Manual();
+        HuntClock.install(clock);
+
+        System.out.printf("Hunt simulation: %d measured ticks, eval period %d, budget %d/tick%n",
+            ticks, HuntConfig.PUZZLE_EVAL_PERIOD_TICKS, budget);
+        System.out.printf("%8s %12s %10s %11s %10s %10s %10s %9s %9s%n",
+            "hunters", "evals/s", "evals", "alloc MB/s", "B/eval", "p50 ms", "p99 ms", "max ms", "deferred");
+
+        for (int size : sizes) {
+            new HuntSimulation(size, ticks, budget, 42L, clock).run();
+        }
+    }
+
+    public void run() {
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] tickNanos = new long[ticks];
+        long evaluationsBefore = scheduler.getTotalEvaluations();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long wallStart = System.nanoTime();
+
+        for (int i = 0; i < ticks; i++) {
+            tickNanos[i] = tick();
+        }
+
+        long wallNanos = System.nanoTime() - wallStart;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long evaluations = scheduler.getTotalEvaluations() - evaluationsBefore;
+        long busyNanos = Arrays.stream(tickNanos).sum();
+        Arrays.sort(tickNanos);
+
+        System.out.printf("%8d %12.0f %10d %11.2f %10.1f %10.4f %10.4f %9.4f %9d%n",
+            hunterCount,
+            evaluations / (busyNanos / 1e9),
+            evaluations,
+            allocated / (1024.0 * 1024.0) / (wallNanos / 1e9),
+            evaluations > 0 ? (double) allocated / evaluations : 0.0,
+            percentile(tickNanos, 0.50) / 1e6,
+            percentile(tickNanos, 0.99) / 1e6,
+            tickNanos[tickNanos.length - 1] / 1e6,
+            scheduler.getDeferredCount());
+        System.out.printf("         sounds=%d actionBars=%d digits=%d faints=%d stageChanges=%d holders=%d%n",
+            soundsPlayed, actionBarsSent, digitsRevealed, faints, stageChanges, holders.size());
+
+        // The queue and hunter cache are static, so leave nothing behind for the next size
+        for (SimulatedHunter hunter : hunters) {
+            BattleHunterCache.untrack(hunter.battleId);
+        }
+        BattleEventQueue.clear();
+    }
+
+    /**
+     * Runs one server tick and returns the measured hunt cost in nanoseconds.
+     */
+    private long tick() {
+        clock.advanceTicks(1);
+        long tick = clock.ticks();
+
+        // Game time runs 5x faster than real so runs cover day, night and every moon phase
+        long dayTime = 12000 + tick * 5;
+        environment = HuntEnvironment.capture(null, tick, dayTime, (int) ((dayTime / 24000) % 8));
+
+        for (SimulatedHunter hunter : hunters) {
+            hunter.move();
+        }
+
+        long start = System.nanoTime();
+        scheduler.tick(tick, this::evaluate);
+        for (int i = 0; i < hunters.size(); i++) {
+            SimulatedHunter hunter = hunters.get(i);
+            // Submitted like a battle engine would, then drained and aggregated by the real handler
+            if (hunter.rollFaint() && BattleEventQueue.submitSynthetic(hunter.battleId)) {
+                faints++;
+            }
+        }
+        BattleFaintHandler.processTick(this::applyFaints);
+        return System.nanoTime() - start;
+    }
+
+    private void evaluate(SimulatedHunter hunter) {
+        evaluator.evaluate(view.bind(hunter));
+    }
+
+    /**
+     * Faint consumer for the handler's per-tick aggregation; stands in for the orb write and feedback.
+     */
+    private void applyFaints(UUID hunterId, int count, boolean synthetic) {
+        SimulatedHunter hunter = huntersById.get(hunterId);
+        if (hunter == null) {
+            return;
+        }
+        OrbProgress result = BattleFaintHandler.applyFaints(hunter.orb, count);
+        if (result == null) {
+            return;
+        }
+        hunter.orb = hunter.orb.withProgress(result.getState(), result.getKillCount(), result.getRevealedRunes());
+
+        if (result.getRunesGained() > 0) {
+            soundsPlayed++;
+        }
+        if (result.stateChanged() && result.getState() == OrbState.FINAL) {
+            // Orb filled: progress the race stage and start holding it like a real hunter would
+            manager.setPlayerStage(hunter.id, 3);
+            holders.add(hunter);
+            scheduler.register(hunter);
+            stageChanges++;
+        }
+    }
+
+    /**
+     * A scripted hunter as the puzzle evaluator sees it, rebound for each evaluation.
+     */
+    private final class HunterView implements CoordinatePuzzleEvaluator.Hunter {
+
+        private SimulatedHunter hunter;
+        private double lookX;
+        private double lookY;
+        private double lookZ;
+
+        HunterView bind(SimulatedHunter hunter) {
+            this.hunter = hunter;
+            // Same trig as Entity#getLookAngle
+            double pitchRad = Math.toRadians(hunter.pitch);
+            double yawRad = Math.toRadians(-hunter.yaw);
+            double horizontal = Math.cos(pitchRad);
+            lookX = Math.sin(yawRad) * horizontal;
+            lookY = -Math.sin(pitchRad);
+            lookZ = Math.cos(yawRad) * horizontal;
+            return this;
+        }
+
+        @Override
+        public PuzzlePlayerState puzzleState() {
+            return hunter.state;
+        }
+
+        @Override
+        public HuntEnvironment environment() {
+            return environment;
+        }
+
+        @Override
+        public ResourceKey<Level> dimension() {
+            return null;
+        }
+
+        @Override
+        public int blockX() {
+            return (int) Math.floor(hunter.x);
+        }
+
+        @Override
+        public int blockY() {
+            return hunter.y;
+        }
+
+        @Override
+        public int blockZ() {
+            return (int) Math.floor(hunter.z);
+        }
+
+        @Override
+        public float pitch() {
+            return hunter.pitch;
+        }
+
+        @Override
+        public double lookX() {
+            return lookX;
+        }
+
+        @Override
+        public double lookY() {
+            return lookY;
+        }
+
+        @Override
+        public double lookZ() {
+            return lookZ;
+        }
+
+        @Override
+        public OrbData readOrb() {
+            return hunter.orb;
+        }
+
+        @Override
+        public void writeOrb(OrbData data, boolean milestone) {
+            digitsRevealed += Integer.bitCount(data.xDigits() & 0b1111) - Integer.bitCount(hunter.orb.xDigits() & 0b1111)
+                + Integer.bitCount(data.zDigits()) - Integer.bitCount(hunter.orb.zDigits());
+            hunter.orb = data;
+        }
+
+        @Override
+        public void feedback(Feedback feedback) {
+            // Same number of sounds as CoordinatePuzzleHandler plays for each
+            soundsPlayed += feedback == Feedback.STAR_EXACT || feedback == Feedback.ORIGIN_REVEAL ? 3 : 1;
+        }
+
+        @Override
+        public void starBeep(float closeness) {
+            soundsPlayed++;
+        }
+
+        @Override
+        public void showActionBar(Message message, long now) {
+            if (hunter.state.actionBar.claim(message, now)) {
+                actionBarsSent++;
+            }
+        }
+
+        @Override
+        public void clearActionBar() {
+            hunter.state.actionBar.clear();
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,130 @@
+package com.skys.cobblemoncosmetics.sim;
+
+import com.skys.cobblemoncosmetics.hunt.CrystalAscendancyManager;
+import com.skys.cobblemoncosmetics.hunt.HuntClock;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Save/load time and file size of the race data, for the original per-record compound lists
+ * against the current parallel-array format.
+ *
+ * Usage: ./gradlew runHuntBenchmark -Pbench=RaceSaveBenchmark -PsimArgs="100000"
+ *
+ * Every player is in the race with a stage, and half of them have a cooldown.
+ * Legacy tags are built the way the old save() wrote them and loaded through the same
+ * CrystalAscendancyManager.load, so the legacy column also covers the compatibility path.
+ */
+public class RaceSaveBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        HuntClock.install(new HuntClock.Manual());
+
+        UUID[] ids = new UUID[players];
+        Random random = new Random(42L);
+        CrystalAscendancyManager manager = new CrystalAscendancyManager();
+        for (int i = 0; i < players; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            manager.addPlayerToRace(ids[i]);
+            manager.setPlayerStage(ids[i], 2 + i % 4);
+            if (i % 2 == 0) {
+                manager.setCooldown(ids[i], 1_000_000L + i);
+            }
+        }
+
+        System.out.printf("%d players, best of %d rounds%n", players, ROUNDS);
+        System.out.printf("%-8s %10s %10s %12s %12s%n", "format", "save ms", "load ms", "raw KB", "gzip KB");
+
+        // Legacy: build time stands in for save time, since that's what the old save() did
+        long legacySave = Long.MAX_VALUE;
+        long legacyLoad = Long.MAX_VALUE;
+        CompoundTag legacy = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            legacy = legacyTag(ids);
+            legacySave = Math.min(legacySave, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            check(CrystalAscendancyManager.load(legacy, null), players);
+            legacyLoad = Math.min(legacyLoad, System.nanoTime() - start);
+        }
+        report("legacy", legacySave, legacyLoad, legacy);
+
+        long arraySave = Long.MAX_VALUE;
+        long arrayLoad = Long.MAX_VALUE;
+        CompoundTag arrays = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            arrays = manager.save(new CompoundTag(), null);
+            arraySave = Math.min(arraySave, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            check(CrystalAscendancyManager.load(arrays, null), players);
+            arrayLoad = Math.min(arrayLoad, System.nanoTime() - start);
+        }
+        report("arrays", arraySave, arrayLoad, arrays);
+    }
+
+    /**
+     * The layout CrystalAscendancyManager.save wrote before format 2.
+     */
+    private static CompoundTag legacyTag(UUID[] ids) {
+        CompoundTag tag = new CompoundTag();
+        tag.putBoolean("raceStarted", true);
+        tag.putBoolean("raceComplete", false);
+        tag.putLong("raceStartTime", 0L);
+
+        ListTag playerList = new ListTag();
+        ListTag cooldownList = new ListTag();
+        ListTag stageList = new ListTag();
+        for (int i = 0; i < ids.length; i++) {
+            CompoundTag playerTag = new CompoundTag();
+            playerTag.putUUID("uuid", ids[i]);
+            playerList.add(playerTag);
+
+            if (i % 2 == 0) {
+                CompoundTag cooldownTag = new CompoundTag();
+                cooldownTag.putUUID("uuid", ids[i]);
+                cooldownTag.putLong("endTime", 1_000_000L + i);
+                cooldownList.add(cooldownTag);
+            }
+
+            CompoundTag stageTag = new CompoundTag();
+            stageTag.putUUID("uuid", ids[i]);
+            stageTag.putInt("stage", 2 + i % 4);
+            stageList.add(stageTag);
+        }
+        tag.put("playersInRace", playerList);
+        tag.put("cooldowns", cooldownList);
+        tag.put("playerStages", stageList);
+        return tag;
+    }
+
+    private static void check(CrystalAscendancyManager loaded, int players) {
+        if (loaded.getPlayerCount() != players) {
+            throw new IllegalStateException("Loaded " + loaded.getPlayerCount() + " players, expected " + players);
+        }
+    }
+
+    private static void report(String format, long saveNanos, long loadNanos, CompoundTag tag) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            NbtIo.write(tag, out);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(tag, compressed);
+
+        System.out.printf("%-8s %10.1f %10.1f %12.1f %12.1f%n", format,
+            saveNanos / 1_000_000.0, loadNanos / 1_000_000.0, raw.size() / 1024.0, compressed.size() / 1024.0);
+    }
+}
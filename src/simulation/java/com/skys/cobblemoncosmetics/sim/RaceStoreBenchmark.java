@@ -0,0 +1,176 @@
+package com.skys.cobblemoncosmetics.sim;
+
+import com.skys.cobblemoncosmetics.hunt.CooldownService;
+import com.skys.cobblemoncosmetics.hunt.CrystalAscendancyManager;
+import com.skys.cobblemoncosmetics.hunt.HuntClock;
+import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Memory and lookup cost of the race manager's player tables, compared with the boxed
+ * HashSet/HashMap layout it used before.
+ *
+ * Usage: ./gradlew runHuntBenchmark -Pbench=RaceStoreBenchmark -PsimArgs="10000 100000 1000000"
+ *
+ * Every player is in the race with a stage, and half of them have a cooldown.
+ * Heap figures are retained bytes after GC, excluding the UUID keys all layouts share.
+ * Run with a large heap for 1M players (e.g. -Xmx4g, set in the Gradle task).
+ *
+ * Rows:
+ * - boxed: HashSet of players, HashMap stages and cooldowns (the old layout)
+ * - tables: the same three tables as the manager stores them (ObjectOpenHashSet, Object2ByteOpenHashMap,
+ *   CooldownService), so this is the like-for-like comparison with boxed
+ * - manager: the whole manager per player, which also holds stage times, the leaderboard and the
+ *   timeline. The timeline ring is allocated up front and is printed once as a fixed cost instead.
+ */
+public class RaceStoreBenchmark {
+
+    private static final int LOOKUPS = 5_000_000;
+
+    // Keeps lookup results alive so the JIT can't drop the loops
+    static volatile long blackhole;
+
+    public static void main(String[] args) {
+        List<Integer> sizes = new ArrayList<>();
+        for (String arg : args) {
+            sizes.add(Integer.parseInt(arg));
+        }
+        if (sizes.isEmpty()) {
+            sizes.addAll(List.of(10_000, 100_000, 1_000_000));
+        }
+
+        HuntClock.install(new HuntClock.Manual());
+        reportManagerFixedCost();
+
+        System.out.printf("%9s %-8s %12s %10s %14s%n", "players", "layout", "heap MB", "B/player", "lookup ns/op");
+        for (int size : sizes) {
+            UUID[] ids = createIds(size);
+            runBoxed(ids);
+            runTables(ids);
+            runManager(ids);
+        }
+    }
+
+    private static UUID[] createIds(int count) {
+        Random random = new Random(42L);
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return ids;
+    }
+
+    private static void reportManagerFixedCost() {
+        long before = usedHeap();
+        CrystalAscendancyManager manager = new CrystalAscendancyManager();
+        long retained = usedHeap() - before;
+        blackhole = manager.getPlayerCount();
+        System.out.printf("empty manager (mostly the stage timeline ring): %.1f MB%n", retained / (1024.0 * 1024.0));
+    }
+
+    private static void runBoxed(UUID[] ids) {
+        long before = usedHeap();
+        Set<UUID> players = new HashSet<>();
+        Map<UUID, Long> cooldowns = new HashMap<>();
+        Map<UUID, Integer> stages = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            players.add(ids[i]);
+            stages.put(ids[i], 2 + i % 4);
+            if (i % 2 == 0) {
+                cooldowns.put(ids[i], 1_000_000L + i);
+            }
+        }
+        long retained = usedHeap() - before;
+
+        Random random = new Random(7L);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            sink += stages.getOrDefault(id, 1);
+            Long end = cooldowns.get(id);
+            sink += end != null ? end : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(ids.length, "boxed", retained, elapsed, sink + players.size());
+    }
+
+    private static void runTables(UUID[] ids) {
+        long before = usedHeap();
+        Set<UUID> players = new ObjectOpenHashSet<>();
+        CooldownService cooldowns = new CooldownService();
+        Object2ByteOpenHashMap<UUID> stages = new Object2ByteOpenHashMap<>();
+        stages.defaultReturnValue((byte) 1);
+        for (int i = 0; i < ids.length; i++) {
+            players.add(ids[i]);
+            stages.put(ids[i], (byte) (2 + i % 4));
+            if (i % 2 == 0) {
+                cooldowns.set(ids[i], 1_000_000L + i);
+            }
+        }
+        long retained = usedHeap() - before;
+
+        Random random = new Random(7L);
+        long sink = 0;
+        long now = HuntClock.get().wallMillis();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            sink += stages.getByte(id);
+            sink += cooldowns.getRemaining(id, now);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(ids.length, "tables", retained, elapsed, sink + players.size());
+    }
+
+    private static void runManager(UUID[] ids) {
+        // Measured from after construction, so the preallocated timeline ring isn't spread over the players
+        CrystalAscendancyManager manager = new CrystalAscendancyManager();
+        long before = usedHeap();
+        for (int i = 0; i < ids.length; i++) {
+            manager.addPlayerToRace(ids[i]);
+            manager.setPlayerStage(ids[i], 2 + i % 4);
+            if (i % 2 == 0) {
+                manager.setCooldown(ids[i], 1_000_000L + i);
+            }
+        }
+        long retained = usedHeap() - before;
+
+        Random random = new Random(7L);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            sink += manager.getPlayerStage(id);
+            sink += manager.getCooldownRemaining(id);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(ids.length, "manager", retained, elapsed, sink + manager.getPlayerCount());
+    }
+
+    private static void report(int players, String layout, long retainedBytes, long lookupNanos, long sink) {
+        blackhole = sink;
+        System.out.printf("%9d %-8s %12.1f %10.1f %14.1f%n", players, layout,
+            retainedBytes / (1024.0 * 1024.0), retainedBytes / (double) players, lookupNanos / (double) LOOKUPS);
+    }
+
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,97 @@
+package com.skys.cobblemoncosmetics.sim;
+
+import com.skys.cobblemoncosmetics.hunt.HuntDataComponents.OrbState;
+import com.skys.cobblemoncosmetics.hunt.OrbData;
+import com.skys.cobblemoncosmetics.hunt.PuzzlePlayerState;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A scripted stand-in for a hunting player: walks between waypoints, sweeps its view across the sky
+ * and faints opponents at a fixed average rate. Holds the same per-player state the server keeps.
+ */
+public class SimulatedHunter {
+
+    final UUID id;
+    // Synthetic battle this hunter's faints are submitted under (see BattleHunterCache#trackSynthetic)
+    final UUID battleId;
+    final PuzzlePlayerState state = new PuzzlePlayerState();
+    private final Random random;
+
+    // Position and view
+    double x;
+    int y;
+    double z;
+    float yaw;
+    float pitch;
+    private double waypointX;
+    private double waypointZ;
+    private final double speed;
+    private final float yawSpeed;
+    private final float pitchSpeed;
+
+    // Orb contents, as the item would store them
+    OrbData orb;
+
+    // Battle script
+    private final double faintChancePerTick;
+
+    SimulatedHunter(Random random, boolean startsWithFilledOrb, double faintChancePerTick) {
+        this.random = random;
+        this.id = new UUID(random.nextLong(), random.nextLong());
+        this.battleId = new UUID(random.nextLong(), random.nextLong());
+        this.x = random.nextInt(1200) - 600;
+        this.z = random.nextInt(1200) - 600;
+        this.y = 64;
+        this.yaw = random.nextFloat() * 360.0f;
+        this.pitch = -random.nextFloat() * 90.0f;
+        this.speed = 0.1 + random.nextDouble() * 0.2;    // Blocks per tick (walking is ~0.2)
+        this.yawSpeed = 1.0f + random.nextFloat() * 4.0f;  // Degrees per tick
+        this.pitchSpeed = 0.5f + random.nextFloat() * 2.0f;
+        this.faintChancePerTick = faintChancePerTick;
+
+        this.orb = startsWithFilledOrb ? OrbData.EMPTY.withProgress(OrbState.FINAL, 0, 18) : OrbData.EMPTY;
+        pickWaypoint();
+    }
+
+    /**
+     * Advances movement and view by one tick (this happens client-side in game, so it is not measured).
+     */
+    void move() {
+        double dx = waypointX - x;
+        double dz = waypointZ - z;
+        double distance = Math.sqrt(dx * dx + dz * dz);
+        if (distance < 1.0) {
+            pickWaypoint();
+        } else {
+            x += dx / distance * speed;
+            z += dz / distance * speed;
+        }
+
+        yaw = (yaw + yawSpeed) % 360.0f;
+        pitch -= pitchSpeed;
+        if (pitch < -90.0f) {
+            pitch += 90.0f;
+        }
+    }
+
+    boolean rollFaint() {
+        return orb.state() != OrbState.FINAL && random.nextDouble() < faintChancePerTick;
+    }
+
+    boolean holdsFilledOrb() {
+        return orb.state() == OrbState.FINAL;
+    }
+
+    private void pickWaypoint() {
+        // A third of the hunters head for the origin puzzle, the rest wander
+        if (random.nextInt(3) == 0) {
+            waypointX = random.nextInt(5) - 2;
+            waypointZ = random.nextInt(5) - 2;
+        } else {
+            waypointX = random.nextInt(1200) - 600;
+            waypointZ = random.nextInt(1200) - 600;
+        }
+    }
+}